@@ -0,0 +1,96 @@
+package no.uib.inf102.wordle.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.resources.GetWords;
+import no.uib.inf102.wordle.resources.LegalWordIndex;
+
+/**
+ * Benchmarks of computing the feedback of a single guess against a single
+ * answer. Each invocation handles the next pair of a fixed, seeded sequence of
+ * random guesses and answers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedbackBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private String[] guesses = new String[PAIRS];
+    private String[] answers = new String[PAIRS];
+    private long[] packedGuesses = new long[PAIRS];
+    private long[] packedAnswers = new long[PAIRS];
+    private int wordLength;
+    private WordleWord[] feedback = new WordleWord[PAIRS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(102);
+        List<String> allWords = GetWords.allWordsList();
+        List<String> answerWords = GetWords.answerWordsList();
+        wordLength = GetWords.wordLength();
+        for (int i = 0; i < PAIRS; i++) {
+            guesses[i] = allWords.get(random.nextInt(allWords.size()));
+            answers[i] = answerWords.get(random.nextInt(answerWords.size()));
+            packedGuesses[i] = LegalWordIndex.pack(guesses[i]);
+            packedAnswers[i] = LegalWordIndex.pack(answers[i]);
+            feedback[i] = WordleAnswer.matchWord(guesses[i], answerWords.get(random.nextInt(answerWords.size())));
+        }
+    }
+
+    private int nextPair() {
+        next = (next + 1) & (PAIRS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public WordleWord matchWord() {
+        int i = nextPair();
+        return WordleAnswer.matchWord(guesses[i], answers[i]);
+    }
+
+    @Benchmark
+    public int matchCode() {
+        int i = nextPair();
+        return WordleAnswer.matchCode(guesses[i], answers[i]);
+    }
+
+    @Benchmark
+    public int matchCodePacked() {
+        int i = nextPair();
+        return WordleAnswer.matchCode(packedGuesses[i], packedAnswers[i], wordLength);
+    }
+
+    @Benchmark
+    public boolean isPossibleWord() {
+        int i = nextPair();
+        return WordleWord.isPossibleWord(answers[i], feedback[i]);
+    }
+
+    @Benchmark
+    public boolean isLegalGuess() {
+        int i = nextPair();
+        return GetWords.isLegalGuess(guesses[i]);
+    }
+
+}
@@ -0,0 +1,70 @@
+package no.uib.inf102.wordle.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.resources.GetWords;
+
+/**
+ * Benchmarks of building a whole FeedbackMatrix. Length 5 uses the word lists
+ * of GetWords. Other lengths use seeded random words of the same counts, so
+ * the byte and short storage can be compared on the same amount of work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FeedbackMatrixBenchmark {
+
+    @Param({ "5", "6", "8" })
+    public int wordLength;
+
+    private List<String> guesses;
+    private List<String> answers;
+
+    @Setup
+    public void setup() {
+        if (wordLength == GetWords.wordLength()) {
+            guesses = GetWords.allWordsList();
+            answers = GetWords.answerWordsList();
+        } else {
+            Random random = new Random(102);
+            guesses = randomWords(random, GetWords.allWordsList().size());
+            answers = guesses.subList(0, GetWords.answerWordsList().size());
+        }
+    }
+
+    private List<String> randomWords(Random random, int count) {
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < wordLength; j++)
+                sb.append((char) ('a' + random.nextInt(26)));
+            words.add(sb.toString());
+        }
+        return words;
+    }
+
+    @Benchmark
+    public FeedbackMatrix build() {
+        return new FeedbackMatrix(guesses, answers);
+    }
+
+}
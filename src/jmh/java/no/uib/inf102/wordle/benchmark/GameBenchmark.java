@@ -0,0 +1,56 @@
+package no.uib.inf102.wordle.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.controller.AI.AIPerformance;
+import no.uib.inf102.wordle.controller.AI.IStrategy;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+
+/**
+ * Benchmarks a full game of Wordle per strategy, including the reset between
+ * games. The games cycle through the seeded answers used by AIPerformance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param({ "EliminateStrategy", "FrequencyStrategy", "MyAiStrategy", "EntropyStrategy", "DecisionTreeStrategy" })
+    public String strategyName;
+
+    private IStrategy strategy;
+    private List<WordleAnswer> answers;
+    private int next;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        strategy = (IStrategy) Class.forName("no.uib.inf102.wordle.controller.AI." + strategyName)
+                .getDeclaredConstructor().newInstance();
+        answers = AIPerformance.seededAnswers();
+    }
+
+    @Benchmark
+    public int runWordleGame() {
+        next = (next + 1) % answers.size();
+        int guesses = AIPerformance.runWordleGame(strategy, answers.get(next));
+        strategy.reset();
+        return guesses;
+    }
+
+}
@@ -0,0 +1,89 @@
+package no.uib.inf102.wordle.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.uib.inf102.wordle.model.word.CandidateSet;
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.LetterFrequencyTable;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.model.word.WordleWordList;
+
+/**
+ * Benchmarks of the WordleWordList operations the strategies call on every
+ * guess, starting from the full list of answers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordListBenchmark {
+
+    @Param({ "crane", "saree" })
+    public String guess;
+
+    @Param({ "cloud" })
+    public String answer;
+
+    private WordleWord feedback;
+    private WordleWordList fullList;
+    private WordleWordList list;
+    private CandidateSet candidates;
+
+    @Setup
+    public void setup() {
+        FeedbackMatrix.get();
+        feedback = new WordleAnswer(answer).makeGuess(guess);
+        fullList = new WordleWordList();
+        list = new WordleWordList();
+        candidates = new CandidateSet(FeedbackMatrix.get());
+    }
+
+    @Benchmark
+    public WordleWordList eliminateWords() {
+        // reset() only points the list back at the answers of the dictionary, so
+        // it costs far less than a Level.Invocation setup would add to the score
+        list.reset();
+        list.eliminateWords(feedback);
+        return list;
+    }
+
+    @Benchmark
+    public CandidateSet eliminateCandidateSet() {
+        candidates.reset();
+        candidates.eliminateWords(feedback);
+        return candidates;
+    }
+
+    @Benchmark
+    public String bestword() {
+        return fullList.bestword();
+    }
+
+    @Benchmark
+    public List<HashMap<Character, Integer>> countCommonLetters() {
+        return fullList.countCommonLetters(fullList.possibleAnswers());
+    }
+
+    @Benchmark
+    public LetterFrequencyTable letterFrequencyTable() {
+        return LetterFrequencyTable.of(fullList.possibleAnswers(), fullList.wordLength());
+    }
+
+}
@@ -1,11 +1,14 @@
 package no.uib.inf102.wordle;
 
+import java.util.Arrays;
+
 import javax.swing.*;
 
 import no.uib.inf102.wordle.controller.WordleAIController;
 import no.uib.inf102.wordle.controller.WordleHumanController;
 import no.uib.inf102.wordle.model.WordleBoard;
 import no.uib.inf102.wordle.model.WordleModel;
+import no.uib.inf102.wordle.resources.GetWords;
 import no.uib.inf102.wordle.view.WordleView;
 
 public class WordleMain {
@@ -13,8 +16,10 @@ public class WordleMain {
   public static final String WINDOW_TITLE = "INF102 Wordle";
 
   public static void main(String[] args) {
-    WordleBoard board = new WordleBoard(8, 5);
-    WordleModel model = new WordleModel(board);
+    WordleBoard board = new WordleBoard(8, GetWords.wordLength());
+    // Run with --hard to play in hard mode
+    boolean hardMode = Arrays.asList(args).contains("--hard");
+    WordleModel model = new WordleModel(board, hardMode);
     WordleView view = new WordleView(model);
     // new WordleHumanController(model, view);
     new WordleAIController(model, view);
@@ -0,0 +1,158 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.resources.GetWords;
+
+/**
+ * This class, when its main method is run, plays one game of Wordle for each
+ * line of its input without showing a window.
+ * <br>
+ * </br>
+ * Each input line is either an answer word or a number. A number is used as the
+ * seed of a random answer, the same way as {@link WordleAnswer#WordleAnswer(Random)}.
+ * For each game one tab separated line is written:
+ *
+ * <pre>
+ * answer	guessCount	nanos	guess1,guess2,...
+ * </pre>
+ *
+ * The guess count is -1 if the strategy did not find the answer within
+ * {@link AIPerformance#MAX_N_GUESSES} guesses. Lines that are neither answer
+ * words nor numbers are reported on standard error and skipped.
+ * <br>
+ * </br>
+ * The input is read and the output written one game at a time, so any number
+ * of games can be played in constant memory.
+ */
+public class AIBatchSolver {
+
+    private final IStrategy strategy;
+    private final List<String> guesses = new ArrayList<>(AIPerformance.MAX_N_GUESSES + 1);
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Usage: <code>AIBatchSolver &lt;strategy&gt; [input file]</code>. The input is
+     * read from standard input when no file, or "-", is given.
+     * 
+     * @param args
+     * @throws IOException if the input could not be read or the output written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2)
+            exitWithUsage();
+        StrategyType type = null;
+        try {
+            type = StrategyType.fromName(args[0]);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            exitWithUsage();
+        }
+        AIBatchSolver solver = new AIBatchSolver(type.create());
+        InputStream in = args.length == 1 || args[1].equals("-") ? System.in : new FileInputStream(args[1]);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            solver.solveAll(reader, out);
+        }
+    }
+
+    private static void exitWithUsage() {
+        System.err.println("Usage: AIBatchSolver <strategy> [input file]");
+        System.err.println("Strategies: " + Arrays.toString(StrategyType.values()));
+        System.exit(1);
+    }
+
+    /**
+     * @param strategy the strategy playing the games
+     */
+    public AIBatchSolver(IStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Plays one game for each line of <code>in</code> and writes the result of
+     * each game to <code>out</code>. Blank lines are skipped.
+     * 
+     * @param in
+     * @param out
+     * @return the number of games played
+     * @throws IOException if reading or writing failed
+     */
+    public long solveAll(BufferedReader in, Writer out) throws IOException {
+        long games = 0;
+        String input;
+        while ((input = in.readLine()) != null) {
+            input = input.trim();
+            if (input.isEmpty())
+                continue;
+            String answer = parseAnswer(input);
+            if (answer == null) {
+                System.err.println("Skipping '" + input + "': not an answer word or a seed");
+                continue;
+            }
+            out.append(solve(answer)).append('\n');
+            games++;
+        }
+        out.flush();
+        return games;
+    }
+
+    /**
+     * Plays one game and formats its result as an output line, without the line
+     * separator.
+     * 
+     * @param answer the answer word
+     * @return the result line
+     */
+    CharSequence solve(String answer) {
+        guesses.clear();
+        int guessCount;
+        long start = System.nanoTime();
+        try {
+            guessCount = AIPerformance.runWordleGame(strategy, new WordleAnswer(answer), guesses);
+        } catch (IllegalStateException e) {
+            guessCount = -1;
+        }
+        long nanos = System.nanoTime() - start;
+        strategy.reset();
+
+        line.setLength(0);
+        line.append(answer).append('\t').append(guessCount).append('\t').append(nanos).append('\t');
+        for (int i = 0; i < guesses.size(); i++) {
+            if (i > 0)
+                line.append(',');
+            line.append(guesses.get(i));
+        }
+        return line;
+    }
+
+    /**
+     * Reads an answer word from an input line.
+     * 
+     * @param input an answer word or a seed
+     * @return the answer word, or null if the line is neither
+     */
+    static String parseAnswer(String input) {
+        if (GetWords.isLegalAnswer(input))
+            return input.toLowerCase();
+        try {
+            return WordleAnswer.getRandomWordleAnswer(new Random(Long.parseLong(input)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
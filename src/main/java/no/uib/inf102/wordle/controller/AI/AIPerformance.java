@@ -1,14 +1,28 @@
 package no.uib.inf102.wordle.controller.AI;
 
-import java.text.DecimalFormat;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import no.uib.inf102.wordle.model.GameState;
+import no.uib.inf102.wordle.model.MultiWordleModel;
+import no.uib.inf102.wordle.model.word.AdversarialAnswer;
+import no.uib.inf102.wordle.model.word.GuessCache;
+import no.uib.inf102.wordle.model.word.IWordleAnswer;
 import no.uib.inf102.wordle.model.word.WordleAnswer;
 import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.resources.GetWords;
 
 /**
  * This class, when its main method is run, shows the performance of the
@@ -18,37 +32,156 @@ public class AIPerformance {
 
     public static final int N_GAMES = 2000;
     public static final int MAX_N_GUESSES = 20;
+    public static final int N_MULTI_GAMES = 200;
     static long seed = 14212l;
 
-    public static void main(String[] args) {
+    /**
+     * The strategies run when no <code>--strategies</code> option is given. The
+     * slower strategies are only run when asked for.
+     */
+    static final List<StrategyType> DEFAULT_STRATEGIES = List.of(StrategyType.RANDOM, StrategyType.ELIMINATE,
+            StrategyType.FREQUENCY, StrategyType.MYAI, StrategyType.ENTROPY);
+
+    /**
+     * Usage:
+     * <code>AIPerformance [--strategies a,b,...] [--all] [--csv file] [--json file] [--worst-case] [--adversarial] [--boards n]</code>.
+     * <code>--strategies</code> runs the strategies with the given names, see
+     * {@link StrategyType#fromName(String)}, instead of
+     * <code>DEFAULT_STRATEGIES</code>. <code>--all</code> plays every answer word once instead of
+     * <code>N_GAMES</code> random answers. The next two options export the
+     * statistics, including the guess latencies, to the given files.
+     * <code>--worst-case</code> also plays every answer word with every strategy
+     * and reports the most guesses each needed. <code>--adversarial</code> also
+     * plays every strategy against an AdversarialAnswer, which always gives the
+     * worst feedback it can. <code>--boards n</code> also
+     * plays <code>N_MULTI_GAMES</code> games on <code>n</code> boards at once
+     * with MultiEntropyStrategy.
+     * 
+     * @param args
+     * @throws IOException if an export file could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path csv = null;
+        Path json = null;
+        boolean worstCase = false;
+        boolean adversarial = false;
+        boolean all = false;
+        int boards = 0;
+        List<StrategyType> types = DEFAULT_STRATEGIES;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--strategies") && i + 1 < args.length)
+                types = parseStrategies(args[++i]);
+            else if (args[i].equals("--all"))
+                all = true;
+            else if (args[i].equals("--csv") && i + 1 < args.length)
+                csv = Paths.get(args[++i]);
+            else if (args[i].equals("--json") && i + 1 < args.length)
+                json = Paths.get(args[++i]);
+            else if (args[i].equals("--worst-case"))
+                worstCase = true;
+            else if (args[i].equals("--adversarial"))
+                adversarial = true;
+            else if (args[i].equals("--boards") && i + 1 < args.length)
+                boards = Integer.parseInt(args[++i]);
+            else
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+        }
+
         // Strategies
-        List<IStrategy> strategies = new ArrayList<>();
-        strategies.add(new RandomStrategy());
-        strategies.add(new EliminateStrategy());
-        strategies.add(new FrequencyStrategy());
-        strategies.add(new MyAiStrategy());
+        List<Supplier<IStrategy>> strategies = new ArrayList<>();
+        for (StrategyType type : types)
+            strategies.add(type.factory());
 
-        Map<IStrategy, AIStatistics> stats = new HashMap<>();
+        List<AIStatistics> stats = new ArrayList<>();
         System.out.println("\nStrategies running...");
         System.out.println(
                 "---------------------------------------------------------------------------------------------");
-        for (IStrategy strategy : strategies) {
-            stats.put(strategy, runWordleGames(strategy));
+        for (Supplier<IStrategy> strategy : strategies) {
+            long start = System.nanoTime();
+            AIStatistics result = all ? runAllAnswers(strategy) : runWordleGamesParallel(strategy);
+            System.out.printf("%-25s %d games in %.2f s%n", result.getStrategyName() + ":", result.getNumGames(),
+                    (System.nanoTime() - start) / 1e9);
+            stats.add(result);
         }
 
         System.out.println(
                 "---------------------------------------------------------------------------------------------\n");
         System.out.printf("After %s Wordle games the strategies got the following"
-                + " average guessing counts:%n", N_GAMES);
+                + " average guessing counts:%n", stats.isEmpty() ? 0 : stats.get(0).getNumGames());
         System.out.println(
                 "---------------------------------------------------------------------------------------------");
-        for (IStrategy strategy : strategies) {
-            AIStatistics.printResult(stats.get(strategy));
+        for (AIStatistics result : stats) {
+            AIStatistics.printResult(result);
+        }
+        for (AIStatistics result : stats) {
+            AIStatistics.printHistogram(result);
+        }
+        System.out.println("\nLatency of makeGuess:");
+        for (AIStatistics result : stats) {
+            AIStatistics.printLatency(result);
         }
-        for (IStrategy strategy : strategies) {
-            AIStatistics.printHistogram(stats.get(strategy));
+        System.out.println("\nGuess caches:");
+        for (GuessCache cache : GuessCache.caches()) {
+            printCache(cache);
         }
         System.out.println();
+
+        if (worstCase) {
+            System.out.printf("Worst case over all %d answer words:%n", GetWords.answerWordsList().size());
+            System.out.println(
+                    "---------------------------------------------------------------------------------------------");
+            for (Supplier<IStrategy> strategy : strategies)
+                printWorstCase(strategy);
+            System.out.println();
+        }
+
+        if (adversarial) {
+            System.out.println("Against an adversarial host:");
+            System.out.println(
+                    "---------------------------------------------------------------------------------------------");
+            for (Supplier<IStrategy> strategy : strategies)
+                printAdversarialGame(strategy.get());
+            System.out.println();
+        }
+
+        if (boards > 0) {
+            final int boardCount = boards;
+            long start = System.nanoTime();
+            AIStatistics multi = runMultiWordleGames(() -> new MultiEntropyStrategy(boardCount), boards,
+                    N_MULTI_GAMES);
+            System.out.printf("%d games on %d boards (at most %d guesses) in %.2f s:%n", multi.getNumGames(), boards,
+                    MultiWordleModel.defaultMaxGuesses(boards), (System.nanoTime() - start) / 1e9);
+            AIStatistics.printResult(multi);
+            AIStatistics.printHistogram(multi);
+            System.out.println();
+        }
+
+        if (csv != null) {
+            try (Writer out = Files.newBufferedWriter(csv)) {
+                AIStatistics.writeCsv(stats, out);
+            }
+        }
+        if (json != null) {
+            try (Writer out = Files.newBufferedWriter(json)) {
+                AIStatistics.writeJson(stats, out);
+            }
+        }
+    }
+
+    /**
+     * Parses a comma separated list of strategy names.
+     * 
+     * @param names
+     * @return the strategy types, in the given order
+     * @throws IllegalArgumentException if a name is not a strategy
+     */
+    static List<StrategyType> parseStrategies(String names) {
+        List<StrategyType> types = new ArrayList<>();
+        for (String name : names.split(",")) {
+            if (!name.isBlank())
+                types.add(StrategyType.fromName(name));
+        }
+        return types;
     }
 
     /**
@@ -59,25 +192,267 @@ public class AIPerformance {
      * @return the total number of guesses made across <code>nGames</code> games.
      */
     public static AIStatistics runWordleGames(IStrategy strategy) {
-        String strategyName = strategy.getClass().getSimpleName();
+        return runWordleGames(strategy, seededAnswers());
+    }
+
+    /**
+     * Plays one game of Wordle for each of the given answers with the given
+     * strategy, one after the other.
+     * 
+     * @param strategy the strategy playing the games
+     * @param answers  the answer of each game
+     * @return the statistics of the games
+     */
+    public static AIStatistics runWordleGames(IStrategy strategy, List<WordleAnswer> answers) {
+        String strategyName = strategyName(strategy);
         AIStatistics stats = new AIStatistics(strategyName);
-        // set a seed so that all strategies are given the same set of words
-        Random rnd = new Random(seed);
 
-        for (int i = 0; i < N_GAMES; i++) {
+        AllocationCounter.Snapshot allocated = AllocationCounter.snapshot();
+        for (int i = 0; i < answers.size(); i++) {
+            boolean won = playGame(strategy, answers.get(i), stats);
+            printProgress(strategyName, i + 1, answers.size(), won);
+        }
+        recordAllocation(stats, allocated, answers.size());
+        System.out.println();
+        return stats;
+    }
+
+    /**
+     * Plays the same <code>N_GAMES</code> games as
+     * {@link #runWordleGames(IStrategy)}, spread over all available cores.
+     * 
+     * @param factory creates the strategy instances, one per worker
+     * @return the statistics of the games
+     */
+    public static AIStatistics runWordleGamesParallel(Supplier<? extends IStrategy> factory) {
+        return runWordleGamesParallel(factory, seededAnswers());
+    }
+
+    /**
+     * Plays one game of Wordle for each of the given answers in parallel, split
+     * between the workers as described in {@link #playInParts}. Each worker
+     * resets its strategy between games just like
+     * {@link #runWordleGames(IStrategy, List)}, so the result is the same as when
+     * the games are played one after the other.
+     * 
+     * @param factory creates the strategy instances, one per worker
+     * @param answers the answer of each game
+     * @return the statistics of the games
+     */
+    public static AIStatistics runWordleGamesParallel(Supplier<? extends IStrategy> factory,
+            List<WordleAnswer> answers) {
+        AllocationCounter.Snapshot allocated = AllocationCounter.snapshot();
+        AIStatistics stats = playInParts(factory, AIPerformance::strategyName, answers.size(),
+                (strategy, i, part) -> playGame(strategy, answers.get(i), part));
+        recordAllocation(stats, allocated, answers.size());
+        return stats;
+    }
+
+    /**
+     * Plays game number <code>game</code> with the strategy of a worker, and
+     * records it in the statistics of that worker.
+     */
+    @FunctionalInterface
+    private interface WorkerGame<T> {
+        void play(T strategy, int game, AIStatistics stats);
+    }
+
+    /**
+     * Plays the games <code>0</code> to <code>nGames - 1</code> in parallel.
+     * Strategies are stateful, so the games are split into one contiguous part
+     * per worker, and each worker plays its part in order with its own strategy
+     * and statistics. The statistics of the workers are merged in order, so the
+     * result is the same as when the games are played one after the other.
+     * 
+     * @param factory creates the strategy instances, one per worker
+     * @param name    gives the name of the statistics of a worker's strategy
+     * @param nGames  the number of games
+     * @param game    plays one game, and must reset the strategy after it
+     * @return the merged statistics of the workers
+     */
+    private static <T> AIStatistics playInParts(Supplier<? extends T> factory, Function<? super T, String> name,
+            int nGames, WorkerGame<T> game) {
+        int workers = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() + 1, nGames));
+        int partSize = (nGames + workers - 1) / workers;
+
+        List<AIStatistics> parts = IntStream.range(0, workers).parallel()
+                .mapToObj(worker -> {
+                    T strategy = factory.get();
+                    AIStatistics stats = new AIStatistics(name.apply(strategy));
+                    int end = Math.min(nGames, (worker + 1) * partSize);
+                    for (int i = worker * partSize; i < end; i++)
+                        game.play(strategy, i, stats);
+                    return stats;
+                })
+                .collect(Collectors.toList());
+
+        AIStatistics stats = parts.get(0);
+        for (int i = 1; i < parts.size(); i++)
+            stats.merge(parts.get(i));
+        return stats;
+    }
+
+    /**
+     * Records the bytes allocated by all threads since <code>before</code>.
+     * Games played at the same time can not be told apart, so the bytes are
+     * recorded for all games of a run together.
+     */
+    private static void recordAllocation(AIStatistics stats, AllocationCounter.Snapshot before, int games) {
+        long bytes = AllocationCounter.allocatedSince(before);
+        if (bytes >= 0)
+            stats.recordAllocation(bytes, games);
+    }
+
+    /**
+     * Plays one game of Wordle for every answer word, in parallel. The opening
+     * guess is computed once and shared by all games if the strategy has a fixed
+     * opening, see {@link IStrategy#hasFixedOpening()}.
+     * 
+     * @param factory creates the strategy instances, one per worker
+     * @return the statistics of the games
+     */
+    public static AIStatistics runAllAnswers(Supplier<? extends IStrategy> factory) {
+        return runWordleGamesParallel(FixedOpeningStrategy.sharingOpening(factory), allAnswers());
+    }
+
+    /**
+     * @return one answer for each word of the answer word list, in the order of
+     *         the list
+     */
+    public static List<WordleAnswer> allAnswers() {
+        List<String> words = GetWords.answerWordsList();
+        List<WordleAnswer> answers = new ArrayList<>(words.size());
+        for (String word : words)
+            answers.add(new WordleAnswer(word));
+        return answers;
+    }
+
+    /**
+     * @param strategy
+     * @return the name of the strategy, which for a FixedOpeningStrategy is the
+     *         name of the strategy it wraps
+     */
+    static String strategyName(IStrategy strategy) {
+        while (strategy instanceof FixedOpeningStrategy)
+            strategy = ((FixedOpeningStrategy) strategy).strategy();
+        return strategy.getClass().getSimpleName();
+    }
+
+    /**
+     * Plays one game of Wordle for each of the given answers in parallel, like
+     * {@link #runWordleGamesParallel(Supplier, List)}, and returns the number of
+     * guesses of each game.
+     * 
+     * @param factory creates the strategy instances, one per worker
+     * @param answers the answer of each game
+     * @return the number of guesses of each game, or -1 for games that were not
+     *         won within <code>MAX_N_GUESSES</code> guesses
+     */
+    public static int[] guessCounts(Supplier<? extends IStrategy> factory, List<WordleAnswer> answers) {
+        int[] counts = new int[answers.size()];
+        playInParts(factory, AIPerformance::strategyName, answers.size(), (strategy, i, stats) -> {
             try {
-                WordleAnswer answer = new WordleAnswer(rnd);
-                int guesses = runWordleGame(strategy, answer);
-                stats.addGame(guesses);
-                printProgress(strategyName, i + 1, true);
+                counts[i] = runWordleGame(strategy, answers.get(i));
             } catch (IllegalStateException e) {
-                printProgress(strategyName, i + 1, false);
-                stats.failed();
+                counts[i] = -1;
             }
             strategy.reset();
+        });
+        return counts;
+    }
+
+    /**
+     * Plays every answer word with the given strategy and prints the most guesses
+     * any game needed, and which answers needed that many.
+     * 
+     * @param factory creates the strategy instances, one per worker
+     * @return the most guesses a game needed, or -1 if a game was not won within
+     *         <code>MAX_N_GUESSES</code> guesses
+     */
+    public static int printWorstCase(Supplier<? extends IStrategy> factory) {
+        List<String> words = GetWords.answerWordsList();
+        long start = System.nanoTime();
+        Supplier<? extends IStrategy> shared = FixedOpeningStrategy.sharingOpening(factory);
+        String name = strategyName(shared.get());
+        int[] counts = guessCounts(shared, allAnswers());
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int worst = 0;
+        for (int count : counts) {
+            if (count < 0) {
+                worst = -1;
+                break;
+            }
+            worst = Math.max(worst, count);
         }
-        System.out.println();
-        return stats;
+        List<String> worstWords = new ArrayList<>();
+        for (int i = 0; i < counts.length && worstWords.size() < 10; i++) {
+            if (counts[i] == worst)
+                worstWords.add(words.get(i));
+        }
+        System.out.printf("%-25s max %15s guesses  (%.2f s)  e.g. %s%n", name + ":",
+                worst < 0 ? "Too many" : Integer.toString(worst), seconds, String.join(", ", worstWords));
+        return worst;
+    }
+
+    /**
+     * Plays one game against an AdversarialAnswer and prints how many guesses the
+     * strategy needed, and which guesses it made.
+     * 
+     * @param strategy
+     * @return the number of guesses, or -1 if the game was not won within
+     *         <code>MAX_N_GUESSES</code> guesses
+     */
+    public static int printAdversarialGame(IStrategy strategy) {
+        List<String> guesses = new ArrayList<>();
+        long start = System.nanoTime();
+        int count;
+        try {
+            count = runWordleGame(strategy, new AdversarialAnswer(), guesses);
+        } catch (IllegalStateException e) {
+            count = -1;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        strategy.reset();
+        System.out.printf("%-25s %15s guesses  (%.2f s)  %s%n", strategyName(strategy) + ":",
+                count < 0 ? "Too many" : Integer.toString(count), seconds, String.join(", ", guesses));
+        return count;
+    }
+
+    /**
+     * Plays one game, records it in <code>stats</code> together with the latency of
+     * each guess, and resets the strategy.
+     * 
+     * @param strategy
+     * @param answer
+     * @param stats
+     * @return true if the game was won
+     */
+    private static boolean playGame(IStrategy strategy, IWordleAnswer answer, AIStatistics stats) {
+        boolean won;
+        try {
+            stats.addGame(runWordleGame(strategy, answer, null, stats));
+            won = true;
+        } catch (IllegalStateException e) {
+            stats.failed();
+            won = false;
+        }
+        strategy.reset();
+        return won;
+    }
+
+    /**
+     * The answers of the <code>N_GAMES</code> games every strategy plays. A seed
+     * is set so that all strategies are given the same set of words.
+     * 
+     * @return the answers
+     */
+    public static List<WordleAnswer> seededAnswers() {
+        Random rnd = new Random(seed);
+        List<WordleAnswer> answers = new ArrayList<>(N_GAMES);
+        for (int i = 0; i < N_GAMES; i++)
+            answers.add(new WordleAnswer(rnd));
+        return answers;
     }
 
     /**
@@ -87,13 +462,52 @@ public class AIPerformance {
      * @param answer   the answer of this game
      * @return total number of guesses
      */
-    public static int runWordleGame(IStrategy strategy, WordleAnswer answer) {
+    public static int runWordleGame(IStrategy strategy, IWordleAnswer answer) {
+        return runWordleGame(strategy, answer, null);
+    }
+
+    /**
+     * The given strategy guesses a word until the correct is found, and every
+     * guess is added to <code>guesses</code>.
+     * 
+     * @param strategy the given strategy guessing the word
+     * @param answer   the answer of this game
+     * @param guesses  list the guesses are added to, or null
+     * @return total number of guesses
+     */
+    public static int runWordleGame(IStrategy strategy, IWordleAnswer answer, List<String> guesses) {
+        return runWordleGame(strategy, answer, guesses, null);
+    }
+
+    /**
+     * The given strategy guesses a word until the correct is found. Every guess is
+     * added to <code>guesses</code>, and the time each guess took is recorded in
+     * <code>latency</code>.
+     * 
+     * @param strategy the given strategy guessing the word
+     * @param answer   the answer of this game
+     * @param guesses  list the guesses are added to, or null
+     * @param latency  statistics the guess latencies are recorded in, or null
+     * @return total number of guesses
+     */
+    public static int runWordleGame(IStrategy strategy, IWordleAnswer answer, List<String> guesses,
+            AIStatistics latency) {
+        long start = System.nanoTime();
         String guess = strategy.makeGuess(null);
+        if (latency != null)
+            latency.recordGuessLatency(0, System.nanoTime() - start);
+        if (guesses != null)
+            guesses.add(guess);
         WordleWord feedback = answer.makeGuess(guess);
 
         int guessCount = 1;
         while (!feedback.allMatch()) {
+            start = System.nanoTime();
             guess = strategy.makeGuess(feedback);
+            if (latency != null)
+                latency.recordGuessLatency(guessCount, System.nanoTime() - start);
+            if (guesses != null)
+                guesses.add(guess);
             feedback = answer.makeGuess(guess);
             guessCount++;
 
@@ -105,6 +519,72 @@ public class AIPerformance {
         return guessCount;
     }
 
+    /**
+     * Plays <code>nGames</code> games on <code>boards</code> boards at once, in
+     * parallel. The answers are drawn with a fixed seed, so every run plays the
+     * same games. A game that is not won within
+     * <code>MultiWordleModel.defaultMaxGuesses(boards)</code> guesses counts as
+     * failed.
+     * 
+     * @param factory creates the strategy instances, one per worker
+     * @param boards  the number of boards of each game
+     * @param nGames  the number of games
+     * @return the statistics of the games
+     */
+    public static AIStatistics runMultiWordleGames(Supplier<? extends IMultiStrategy> factory, int boards,
+            int nGames) {
+        Random rnd = new Random(seed);
+        List<List<WordleAnswer>> games = new ArrayList<>(nGames);
+        for (int i = 0; i < nGames; i++) {
+            List<WordleAnswer> answers = new ArrayList<>(boards);
+            for (int b = 0; b < boards; b++)
+                answers.add(new WordleAnswer(rnd));
+            games.add(answers);
+        }
+
+        return playInParts(factory, strategy -> strategy.getClass().getSimpleName() + " x" + boards, nGames,
+                (strategy, i, stats) -> {
+                    try {
+                        stats.addGame(runMultiWordleGame(strategy, games.get(i)));
+                    } catch (IllegalStateException e) {
+                        stats.failed();
+                    }
+                    strategy.reset();
+                });
+    }
+
+    /**
+     * The given strategy guesses words until every board is solved.
+     * 
+     * @param strategy the given strategy guessing the words
+     * @param answers  the answer of each board
+     * @return total number of guesses
+     * @throws IllegalStateException if the boards are not solved within
+     *                               <code>MultiWordleModel.defaultMaxGuesses</code>
+     *                               guesses
+     */
+    public static int runMultiWordleGame(IMultiStrategy strategy, List<WordleAnswer> answers) {
+        MultiWordleModel model = new MultiWordleModel(answers);
+        List<WordleWord> feedback = model.makeGuess(strategy.makeGuess(null));
+        while (model.getGameState() == GameState.ACTIVE_GAME)
+            feedback = model.makeGuess(strategy.makeGuess(feedback));
+        if (model.getGameState() != GameState.VICTORY)
+            throw new IllegalStateException("Too many guesses.");
+        return model.guessCount();
+    }
+
+    /**
+     * Prints how often the given cache had the guess that was asked for.
+     * 
+     * @param cache
+     */
+    public static void printCache(GuessCache cache) {
+        long lookups = cache.hits() + cache.misses();
+        System.out.printf(Locale.ROOT, "%-25s %9d hits %9d misses %9d evictions  %5.1f%% hit rate%n",
+                cache.name() + ":", cache.hits(), cache.misses(), cache.evictions(),
+                lookups == 0 ? 0 : 100.0 * cache.hits() / lookups);
+    }
+
     /**
      * Prints a progress bar for the given strategy showing how many games have been
      * completed.
@@ -114,11 +594,24 @@ public class AIPerformance {
      * @param gameWon      If the game was won
      */
     public static void printProgress(String strategyName, int game, boolean gameWon) {
+        printProgress(strategyName, game, N_GAMES, gameWon);
+    }
+
+    /**
+     * Prints a progress bar for the given strategy showing how many of
+     * <code>nGames</code> games have been completed.
+     * 
+     * @param strategyName The given strategy
+     * @param game         The current game
+     * @param nGames       The total number of games
+     * @param gameWon      If the game was won
+     */
+    public static void printProgress(String strategyName, int game, int nGames, boolean gameWon) {
         float length = 50f;
-        float progress = ((float) game / N_GAMES) * length;
+        float progress = ((float) game / nGames) * length;
         String progressString = "=".repeat((int) progress);
         System.out.printf("\b\r%-25s [%-50s] (%4s /%5s) | Latest game: %s", strategyName + ":", progressString, game,
-                N_GAMES,
+                nGames,
                 gameWon ? "won" : "lost");
     }
 }
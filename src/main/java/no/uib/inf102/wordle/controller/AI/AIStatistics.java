@@ -1,12 +1,22 @@
 package no.uib.inf102.wordle.controller.AI;
 
+import java.io.IOException;
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * This class records various statistics of a strategy used for guessing Wordle
  * answers.
+ * <br>
+ * </br>
+ * Besides the guess counts it records how long each call to
+ * {@link IStrategy#makeGuess} took, in one LatencyHistogram per guess number,
+ * and how many bytes the games allocated. Statistics of the same strategy
+ * recorded on different threads can be merged.
  */
 public class AIStatistics {
 
@@ -19,6 +29,15 @@ public class AIStatistics {
 	private int failures;
 	public Map<Integer,Integer> gamesCompletedIn = new HashMap<>();
 
+	/**
+	 * The latency of the first guess of each game at index 0, the second at index
+	 * 1 and so on.
+	 */
+	private final List<LatencyHistogram> guessLatency = new ArrayList<>();
+	private final LatencyHistogram allGuessLatency = new LatencyHistogram();
+	private long allocatedBytes;
+	private int allocationGames;
+
 	/**
 	 * Create a statistics object for an AI Strategy.
 	 * 
@@ -45,6 +64,67 @@ public class AIStatistics {
 		maxGuesses = Math.max(maxGuesses, guesses);
 	}
 
+	/**
+	 * Adds the games recorded in <code>other</code> to this object, as if they
+	 * had been recorded here.
+	 * 
+	 * @param other statistics of the same strategy
+	 */
+	public void merge(AIStatistics other) {
+		numGames += other.numGames;
+		totalGuesses += other.totalGuesses;
+		wins += other.wins;
+		failures += other.failures;
+		maxGuesses = Math.max(maxGuesses, other.maxGuesses);
+		for (Map.Entry<Integer, Integer> entry : other.gamesCompletedIn.entrySet())
+			gamesCompletedIn.merge(entry.getKey(), entry.getValue(), Integer::sum);
+		for (int i = 0; i < other.guessLatency.size(); i++)
+			latencyHistogram(i).merge(other.guessLatency.get(i));
+		allGuessLatency.merge(other.allGuessLatency);
+		allocatedBytes += other.allocatedBytes;
+		allocationGames += other.allocationGames;
+	}
+
+	/**
+	 * Creates a copy of these statistics, which is not changed by games recorded
+	 * later.
+	 * 
+	 * @return the copy
+	 */
+	public AIStatistics snapshot() {
+		AIStatistics copy = new AIStatistics(strategyName);
+		copy.merge(this);
+		return copy;
+	}
+
+	/**
+	 * Records how long one call to makeGuess took.
+	 * 
+	 * @param guessIndex the number of guesses made earlier in the game
+	 * @param nanos      the time the call took
+	 */
+	public void recordGuessLatency(int guessIndex, long nanos) {// O(1)
+		latencyHistogram(guessIndex).record(nanos);
+		allGuessLatency.record(nanos);
+	}
+
+	/**
+	 * Records how many bytes were allocated in total while playing some games.
+	 * 
+	 * @param bytes
+	 * @param games the number of games played
+	 */
+	public void recordAllocation(long bytes, int games) {
+		allocatedBytes += bytes;
+		allocationGames += games;
+	}
+
+	private LatencyHistogram latencyHistogram(int guessIndex) {
+		while (guessLatency.size() <= guessIndex)
+			guessLatency.add(new LatencyHistogram());
+		return guessLatency.get(guessIndex);
+	}
+
 	/**
 	 * Increases the value of a given key by 1
 	 * If key is not present in map, the value of this key is sat to 1
@@ -119,6 +199,38 @@ public class AIStatistics {
 		return gamesCompletedIn;
 	}
 
+	/**
+	 * @return the latency of every guess, or an empty histogram if no latencies
+	 *         were recorded
+	 */
+	public LatencyHistogram getGuessLatency() {
+		return allGuessLatency;
+	}
+
+	/**
+	 * @param guessIndex the number of guesses made earlier in the game
+	 * @return the latency of the guesses with the given index, or an empty
+	 *         histogram if none were recorded
+	 */
+	public LatencyHistogram getGuessLatency(int guessIndex) {
+		return guessIndex < guessLatency.size() ? guessLatency.get(guessIndex) : new LatencyHistogram();
+	}
+
+	/**
+	 * @return the highest guess index with recorded latencies, plus one
+	 */
+	public int getGuessLatencyCount() {
+		return guessLatency.size();
+	}
+
+	/**
+	 * @return the average number of bytes allocated per game, or NaN if
+	 *         allocations were not recorded
+	 */
+	public double getAllocatedBytesPerGame() {
+		return allocationGames == 0 ? Double.NaN : allocatedBytes / (double) allocationGames;
+	}
+
 	/**
 	 * 
 	 * @return the name of the strategy being recorded
@@ -162,4 +274,86 @@ public class AIStatistics {
     		System.out.println(i+": "+"=".repeat(p));
     	}
     }
+
+    /**
+     * Prints the median and tail latency of the guesses of a strategy, and how
+     * much it allocated per game.
+     * 
+     * @param stats
+     */
+    public static void printLatency(AIStatistics stats) {
+        LatencyHistogram latency = stats.getGuessLatency();
+        if (latency.getCount() == 0)
+            return;
+        System.out.printf(Locale.ROOT, "%-25s p50 %9.3f ms  p99 %9.3f ms  p99.9 %9.3f ms  max %9.3f ms  %10.0f B/game%n",
+                stats.getStrategyName() + ":", latency.valueAtPercentile(50) / 1e6,
+                latency.valueAtPercentile(99) / 1e6, latency.valueAtPercentile(99.9) / 1e6, latency.getMax() / 1e6,
+                stats.getAllocatedBytesPerGame());
+    }
+
+    /**
+     * Writes the guess latencies of the given strategies as CSV, with one row per
+     * strategy and guess number, and a row with guess "all" for all guesses of a
+     * strategy. Latencies are in nanoseconds.
+     * 
+     * @param stats
+     * @param out
+     * @throws IOException
+     */
+    public static void writeCsv(List<AIStatistics> stats, Appendable out) throws IOException {
+        out.append("strategy,guess,count,mean_ns,p50_ns,p99_ns,p999_ns,max_ns,bytes_per_game\n");
+        for (AIStatistics result : stats) {
+            String bytes = Double.isNaN(result.getAllocatedBytesPerGame()) ? ""
+                    : String.format(Locale.ROOT, "%.0f", result.getAllocatedBytesPerGame());
+            writeCsvRow(out, result.getStrategyName(), "all", result.getGuessLatency(), bytes);
+            for (int i = 0; i < result.getGuessLatencyCount(); i++)
+                writeCsvRow(out, result.getStrategyName(), Integer.toString(i + 1), result.getGuessLatency(i), "");
+        }
+    }
+
+    private static void writeCsvRow(Appendable out, String strategy, String guess, LatencyHistogram latency,
+            String bytes) throws IOException {
+        out.append(String.format(Locale.ROOT, "%s,%s,%d,%.0f,%d,%d,%d,%d,%s\n", strategy, guess, latency.getCount(),
+                latency.getMean(), latency.valueAtPercentile(50), latency.valueAtPercentile(99),
+                latency.valueAtPercentile(99.9), latency.getMax(), bytes));
+    }
+
+    /**
+     * Writes the statistics of the given strategies as a JSON array with one
+     * object per strategy. Latencies are in nanoseconds.
+     * 
+     * @param stats
+     * @param out
+     * @throws IOException
+     */
+    public static void writeJson(List<AIStatistics> stats, Appendable out) throws IOException {
+        out.append("[\n");
+        for (int s = 0; s < stats.size(); s++) {
+            AIStatistics result = stats.get(s);
+            out.append(String.format(Locale.ROOT,
+                    "  {\"strategy\":\"%s\",\"games\":%d,\"wins\":%d,\"failures\":%d,\"totalGuesses\":%d,"
+                            + "\"maxGuesses\":%d,\"bytesPerGame\":%s,\"latency\":",
+                    result.getStrategyName(), result.getNumGames(), result.getWins(), result.getFailures(),
+                    result.getTotalGuesses(), result.getMaxGuesses(), jsonNumber(result.getAllocatedBytesPerGame())));
+            appendJson(out, result.getGuessLatency());
+            out.append(",\"latencyByGuess\":[");
+            for (int i = 0; i < result.getGuessLatencyCount(); i++) {
+                if (i > 0)
+                    out.append(',');
+                appendJson(out, result.getGuessLatency(i));
+            }
+            out.append(s + 1 < stats.size() ? "]},\n" : "]}\n");
+        }
+        out.append("]\n");
+    }
+
+    private static void appendJson(Appendable out, LatencyHistogram latency) throws IOException {
+        out.append(String.format(Locale.ROOT, "{\"count\":%d,\"mean\":%s,\"p50\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d}",
+                latency.getCount(), jsonNumber(latency.getMean()), latency.valueAtPercentile(50),
+                latency.valueAtPercentile(99), latency.valueAtPercentile(99.9), latency.getMax()));
+    }
+
+    private static String jsonNumber(double value) {
+        return Double.isNaN(value) ? "null" : String.format(Locale.ROOT, "%.1f", value);
+    }
 }
@@ -0,0 +1,88 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads how many bytes the threads of the JVM have allocated, on JVMs that
+ * support it (HotSpot does).
+ * <br>
+ * </br>
+ * Strategies do much of their work on the threads of the common fork-join
+ * pool, so allocations are counted over all live threads rather than only the
+ * thread playing the game. A thread that ends between two readings is not
+ * counted, and the count includes anything else the JVM runs at the same time.
+ */
+public class AllocationCounter {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    /**
+     * The bytes allocated by each live thread at some point in time, by thread id.
+     */
+    public static class Snapshot {
+        private final Map<Long, Long> bytes;
+
+        private Snapshot(Map<Long, Long> bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * @return true if allocations can be counted on this JVM
+     */
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Reads the number of bytes allocated by every live thread so far.
+     *
+     * @return the snapshot, or null if this is not supported
+     */
+    public static Snapshot snapshot() {// O(t)
+        if (THREADS == null)
+            return null;
+        long[] ids = THREADS.getAllThreadIds();
+        long[] allocated = THREADS.getThreadAllocatedBytes(ids);
+        Map<Long, Long> bytes = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] >= 0)
+                bytes.put(ids[i], allocated[i]);
+        }
+        return new Snapshot(bytes);
+    }
+
+    /**
+     * Sums the bytes allocated by all live threads since <code>before</code>.
+     * Threads started since then are counted from zero.
+     *
+     * @param before a snapshot from {@link #snapshot()}
+     * @return the number of bytes, or -1 if <code>before</code> is null
+     */
+    public static long allocatedSince(Snapshot before) {// O(t)
+        if (before == null)
+            return -1;
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : snapshot().bytes.entrySet())
+            total += thread.getValue() - before.bytes.getOrDefault(thread.getKey(), 0L);
+        return total;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean))
+                return null;
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                    .getThreadMXBean();
+            if (!threads.isThreadAllocatedMemorySupported())
+                return null;
+            threads.setThreadAllocatedMemoryEnabled(true);
+            return threads;
+        } catch (UnsupportedOperationException | SecurityException | NoClassDefFoundError e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.resources.LegalWordIndex;
+
+/**
+ * A read-only decision tree of Wordle guesses stored in a compact binary
+ * format. Each node holds the id of the word to guess and, for every feedback
+ * code that can follow, the position of the node to continue from.
+ * <br>
+ * </br>
+ * Format (big endian):
+ *
+ * <pre>
+ * header: int MAGIC, int VERSION, int guessCount, int answerCount, int nodeCount,
+ *         long wordsHash
+ * node:   int guessId, short childCount, childCount * (short pattern, int childNode)
+ * </pre>
+ *
+ * The root node starts right after the header, and the children of a node are
+ * sorted by pattern. The shorts are unsigned, since feedback codes of words
+ * with more than 9 letters do not fit in a signed short. Nodes are referred to by their byte position in the
+ * buffer. Guess and answer ids are those of the FeedbackMatrix the tree was
+ * built from, and <code>wordsHash</code> is the {@link #wordsHash(FeedbackMatrix)}
+ * of that matrix, so a tree is never used with other word lists of the same
+ * sizes.
+ */
+public class DecisionTree {
+
+    static final int MAGIC = 0x57545245; // "WTRE"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES;
+    static final int CHILD_SIZE = Short.BYTES + Integer.BYTES;
+
+    /**
+     * Returned by {@link #child(int, int)} when the node has no child for a
+     * pattern.
+     */
+    public static final int NO_NODE = -1;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a tree reading from the given buffer.
+     *
+     * @param buffer
+     * @throws IllegalArgumentException if the buffer does not hold a decision tree
+     *                                  of this version
+     */
+    public DecisionTree(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IllegalArgumentException("Not a decision tree");
+        if (buffer.getInt(Integer.BYTES) != VERSION)
+            throw new IllegalArgumentException("Unsupported decision tree version " + buffer.getInt(Integer.BYTES));
+        this.buffer = buffer;
+    }
+
+    /**
+     * Memory-maps the decision tree stored in the given file.
+     *
+     * @param path
+     * @return the tree
+     * @throws IOException if the file could not be read
+     */
+    public static DecisionTree load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new DecisionTree(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return the root node
+     */
+    public int root() {
+        return HEADER_SIZE;
+    }
+
+    /**
+     * @param node
+     * @return the id of the word to guess at <code>node</code>
+     */
+    public int guessId(int node) {
+        return buffer.getInt(node);
+    }
+
+    /**
+     * Finds the node to continue from after getting the feedback
+     * <code>pattern</code> at <code>node</code>. The children are binary
+     * searched, so this is O(log p) = O(1) where p is the number of possible
+     * patterns.
+     *
+     * @param node
+     * @param pattern feedback code
+     * @return the child node, or NO_NODE if there is none
+     */
+    public int child(int node, int pattern) {
+        int first = node + Integer.BYTES + Short.BYTES;
+        int low = 0;
+        int high = Short.toUnsignedInt(buffer.getShort(node + Integer.BYTES)) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = first + mid * CHILD_SIZE;
+            int midPattern = Short.toUnsignedInt(buffer.getShort(entry));
+            if (midPattern < pattern)
+                low = mid + 1;
+            else if (midPattern > pattern)
+                high = mid - 1;
+            else
+                return buffer.getInt(entry + Short.BYTES);
+        }
+        return NO_NODE;
+    }
+
+    public int guessCount() {
+        return buffer.getInt(2 * Integer.BYTES);
+    }
+
+    public int answerCount() {
+        return buffer.getInt(3 * Integer.BYTES);
+    }
+
+    public int nodeCount() {
+        return buffer.getInt(4 * Integer.BYTES);
+    }
+
+    /**
+     * @return the hash of the word lists the tree was built from
+     */
+    public long wordsHash() {
+        return buffer.getLong(5 * Integer.BYTES);
+    }
+
+    /**
+     * Checks if the tree was built from the word lists of the given matrix.
+     *
+     * @param matrix
+     * @return true if the guess and answer ids of the tree are those of
+     *         <code>matrix</code>
+     */
+    public boolean isBuiltFrom(FeedbackMatrix matrix) {// O(n*k)
+        return guessCount() == matrix.guessCount() && answerCount() == matrix.answerCount()
+                && wordsHash() == wordsHash(matrix);
+    }
+
+    /**
+     * Hashes the guess words and the answer words of the matrix, in id order,
+     * with 64 bit FNV-1a over their packed letters.
+     *
+     * @param matrix
+     * @return the hash
+     */
+    public static long wordsHash(FeedbackMatrix matrix) {// O(n*k)
+        long hash = 0xcbf29ce484222325L;
+        for (int g = 0; g < matrix.guessCount(); g++) // O(n)
+            hash = hash(hash, matrix.guess(g)); // O(k)
+        // Separates the lists, so moving a word between them changes the hash
+        hash = (hash ^ 0xFF) * 0x100000001b3L;
+        for (int a = 0; a < matrix.answerCount(); a++) // O(m)
+            hash = hash(hash, matrix.answer(a)); // O(k)
+        return hash;
+    }
+
+    private static long hash(long hash, String word) {// O(k)
+        long packed = LegalWordIndex.pack(word);
+        if (packed < 0) {
+            for (int i = 0; i < word.length(); i++)
+                hash = (hash ^ word.charAt(i)) * 0x100000001b3L;
+            return (hash ^ word.length()) * 0x100000001b3L;
+        }
+        for (int i = 0; i < Long.BYTES; i++, packed >>>= 8)
+            hash = (hash ^ (packed & 0xFF)) * 0x100000001b3L;
+        return hash;
+    }
+
+}
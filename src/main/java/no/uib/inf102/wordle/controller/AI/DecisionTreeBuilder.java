@@ -0,0 +1,148 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.PatternBuckets;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+
+/**
+ * This class builds a DecisionTree covering every answer word, and when its
+ * main method is run, writes the tree to a file.
+ * <br>
+ * </br>
+ * At each node the guess is chosen the same way as in EntropyStrategy, and the
+ * remaining answers are split by the feedback of that guess into the subtrees.
+ * Finding the tree with the lowest possible average is too slow to be
+ * practical, so the tree is as good as EntropyStrategy but never has to be
+ * recomputed.
+ */
+public class DecisionTreeBuilder {
+
+    private final FeedbackMatrix matrix;
+    private final PatternBuckets buckets;
+    private final int allCorrect;
+    private int nodeCount;
+
+    private DecisionTreeBuilder(FeedbackMatrix matrix) {
+        this.matrix = matrix;
+        this.buckets = new PatternBuckets(matrix);
+        this.allCorrect = WordleAnswer.allCorrectCode(matrix.wordLength());
+    }
+
+    /**
+     * Builds the decision tree and writes it to the file given as the first
+     * argument, or to <code>DecisionTreeStrategy.treePath()</code>.
+     *
+     * @param args
+     * @throws IOException if the file could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : DecisionTreeStrategy.treePath();
+        long start = System.nanoTime();
+        ByteBuffer tree = build(FeedbackMatrix.get());
+        if (path.getParent() != null)
+            Files.createDirectories(path.getParent());
+        Files.write(path, tree.array());
+        System.out.printf("Wrote %d nodes (%d bytes) to %s in %.1f s%n", new DecisionTree(tree).nodeCount(),
+                tree.limit(), path, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Builds a decision tree over all answers of the given matrix.
+     *
+     * @param matrix
+     * @return a buffer holding the tree
+     */
+    public static ByteBuffer build(FeedbackMatrix matrix) {
+        DecisionTreeBuilder builder = new DecisionTreeBuilder(matrix);
+        int[] answers = new int[matrix.answerCount()];
+        for (int i = 0; i < answers.length; i++)
+            answers[i] = i;
+        Node root = builder.build(answers);
+
+        int size = layout(root, DecisionTree.HEADER_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(DecisionTree.MAGIC);
+        buffer.putInt(DecisionTree.VERSION);
+        buffer.putInt(matrix.guessCount());
+        buffer.putInt(matrix.answerCount());
+        buffer.putInt(builder.nodeCount);
+        buffer.putLong(DecisionTree.wordsHash(matrix));
+        write(root, buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    private Node build(int[] candidates) {
+        nodeCount++;
+        int guessId;
+        if (candidates.length <= 2)
+            guessId = matrix.guessId(matrix.answer(candidates[0]));
+        else
+            guessId = EntropyStrategy.bestGuess(matrix, candidates, candidates.length);
+
+        Node node = new Node(guessId);
+        buckets.split(guessId, candidates, candidates.length);
+        int[] counts = new int[WordleAnswer.patternCount(matrix.wordLength())];
+        for (int pattern = 0; pattern < counts.length; pattern++)
+            counts[pattern] = buckets.count(pattern);
+        buckets.clear(guessId, candidates, candidates.length);
+
+        for (int pattern = 0; pattern < counts.length; pattern++) {
+            if (counts[pattern] == 0 || pattern == allCorrect)
+                continue;
+            int[] bucket = new int[counts[pattern]];
+            int n = 0;
+            for (int candidate : candidates) {
+                if (matrix.pattern(guessId, candidate) == pattern)
+                    bucket[n++] = candidate;
+            }
+            node.patterns.add(pattern);
+            node.children.add(build(bucket));
+        }
+        return node;
+    }
+
+    /**
+     * Gives each node of the subtree its position, parents before children.
+     *
+     * @return the position after the last node of the subtree
+     */
+    private static int layout(Node node, int position) {
+        node.position = position;
+        position += Integer.BYTES + Short.BYTES + node.children.size() * DecisionTree.CHILD_SIZE;
+        for (Node child : node.children)
+            position = layout(child, position);
+        return position;
+    }
+
+    private static void write(Node node, ByteBuffer buffer) {
+        buffer.putInt(node.guessId);
+        buffer.putShort((short) node.children.size());
+        for (int i = 0; i < node.children.size(); i++) {
+            buffer.putShort((short) (int) node.patterns.get(i));
+            buffer.putInt(node.children.get(i).position);
+        }
+        for (Node child : node.children)
+            write(child, buffer);
+    }
+
+    private static class Node {
+        final int guessId;
+        final List<Integer> patterns = new ArrayList<>();
+        final List<Node> children = new ArrayList<>();
+        int position;
+
+        Node(int guessId) {
+            this.guessId = guessId;
+        }
+    }
+
+}
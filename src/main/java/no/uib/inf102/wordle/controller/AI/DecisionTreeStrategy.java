@@ -0,0 +1,146 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * This strategy walks a precomputed DecisionTree, so each guess is a single
+ * lookup. The tree is memory-mapped from {@link #treePath()} if
+ * DecisionTreeBuilder has written it there for the current word lists, and is
+ * otherwise built in memory the first time the strategy is used.
+ * <br>
+ * </br>
+ * If the game leaves the tree, for instance because the answer is not one of
+ * the answer words, the strategy continues as an EntropyStrategy.
+ */
+public class DecisionTreeStrategy implements IStrategy {
+
+    /**
+     * System property naming the file of the decision tree, to use instead of
+     * <code>DEFAULT_TREE_FILE</code> in the user's cache folder.
+     */
+    public static final String TREE_PATH_PROPERTY = "wordle.decisionTree";
+
+    /**
+     * The file of the decision tree, relative to the user's home folder.
+     */
+    public static final String DEFAULT_TREE_FILE = ".cache/wordle/decisionTree.bin";
+
+    private static volatile DecisionTree sharedTree;
+
+    private final FeedbackMatrix matrix;
+    private final DecisionTree tree;
+    private int node;
+
+    private List<WordleWord> history = new ArrayList<>();
+    private IStrategy fallback;
+
+    public DecisionTreeStrategy() {
+        this(defaultTree());
+    }
+
+    public DecisionTreeStrategy(DecisionTree tree) {
+        this.matrix = FeedbackMatrix.get();
+        if (!tree.isBuiltFrom(matrix))
+            throw new IllegalArgumentException("The decision tree was built for another word list");
+        this.tree = tree;
+        reset();
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback != null) {
+            history.add(feedback);
+            if (fallback == null)
+                followFeedback(feedback);
+            if (fallback != null)
+                return fallback.makeGuess(feedback);
+        }
+        return matrix.guess(tree.guessId(node));
+    }
+
+    private void followFeedback(WordleWord feedback) {
+        String guess = matrix.guess(tree.guessId(node));
+        int child = DecisionTree.NO_NODE;
+        if (guess.equals(feedback.getWordString()))
+            child = tree.child(node, feedback.feedbackCode());
+
+        if (child != DecisionTree.NO_NODE) {
+            node = child;
+            return;
+        }
+
+        // Off the tree: let an EntropyStrategy catch up on all feedback except the
+        // latest, which is handed to it by makeGuess.
+        fallback = new EntropyStrategy();
+        fallback.makeGuess(null);
+        for (int i = 0; i < history.size() - 1; i++)
+            fallback.makeGuess(history.get(i));
+    }
+
+    @Override
+    public void reset() {
+        node = tree.root();
+        history.clear();
+        fallback = null;
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        return true;
+    }
+
+    /**
+     * Gets the tree shared by all instances, loading or building it the first
+     * time.
+     */
+    private static DecisionTree defaultTree() {
+        DecisionTree tree = sharedTree;
+        if (tree == null) {
+            synchronized (DecisionTreeStrategy.class) {
+                tree = sharedTree;
+                if (tree == null) {
+                    tree = loadOrBuild(treePath());
+                    sharedTree = tree;
+                }
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Finds the file of the decision tree. It does not depend on the working
+     * folder, so the same tree is found wherever the game is started from.
+     *
+     * @return the file named by <code>TREE_PATH_PROPERTY</code>, or
+     *         <code>DEFAULT_TREE_FILE</code> in the user's home folder
+     */
+    public static Path treePath() {
+        String path = System.getProperty(TREE_PATH_PROPERTY);
+        if (path != null && !path.isBlank())
+            return Paths.get(path).toAbsolutePath();
+        return Paths.get(System.getProperty("user.home"), DEFAULT_TREE_FILE);
+    }
+
+    private static DecisionTree loadOrBuild(Path path) {
+        FeedbackMatrix matrix = FeedbackMatrix.get();
+        if (Files.isRegularFile(path)) {
+            try {
+                DecisionTree tree = DecisionTree.load(path);
+                if (tree.isBuiltFrom(matrix))
+                    return tree;
+            } catch (IOException | IllegalArgumentException e) {
+                // Fall through and build a new tree
+            }
+        }
+        return new DecisionTree(DecisionTreeBuilder.build(matrix));
+    }
+
+}
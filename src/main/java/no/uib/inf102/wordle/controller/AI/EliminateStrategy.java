@@ -18,7 +18,7 @@ import no.uib.inf102.wordle.model.word.WordleWordList;
 public class EliminateStrategy implements IStrategy {
 
     private Random random = new Random();
-    private WordleWordList guesses;
+    private final WordleWordList guesses = new WordleWordList();
 
     public EliminateStrategy() {
         reset();
@@ -37,6 +37,6 @@ public class EliminateStrategy implements IStrategy {
 
     @Override
     public void reset() {
-        guesses = new WordleWordList();
+        guesses.reset();
     }
 }
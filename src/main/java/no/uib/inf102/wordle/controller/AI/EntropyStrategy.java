@@ -0,0 +1,135 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.function.Supplier;
+
+import no.uib.inf102.wordle.model.word.CandidateKey;
+import no.uib.inf102.wordle.model.word.CandidateSet;
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.GuessCache;
+import no.uib.inf102.wordle.model.word.PatternBuckets;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * This strategy guesses the word that gives the most information about the
+ * answer. For every word that can be guessed, the possible answers are split
+ * into buckets by the feedback that word would get, and the word whose bucket
+ * sizes have the highest entropy is chosen.
+ * <br>
+ * </br>
+ * When two guesses are equally good, a guess that can itself be the answer is
+ * preferred.
+ */
+public class EntropyStrategy implements IStrategy {
+
+    /**
+     * The best guesses found, shared by all instances. They only depend on the
+     * possible answers, since every instance uses the default FeedbackMatrix.
+     */
+    private static final GuessCache CACHE = new GuessCache("EntropyStrategy", 1 << 16);
+
+    private final FeedbackMatrix matrix;
+    private final CandidateSet candidates;
+    private final int[] candidateIds;
+
+    /**
+     * The first guess does not depend on any feedback, so it is only computed once.
+     */
+    private String openingGuess;
+
+    public EntropyStrategy() {
+        this.matrix = FeedbackMatrix.get();
+        this.candidates = new CandidateSet(matrix);
+        this.candidateIds = new int[matrix.answerCount()];
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null && openingGuess != null)
+            return openingGuess;
+        if (feedback != null)
+            candidates.eliminateWords(feedback);
+
+        int size = candidates.toArray(candidateIds);
+        if (size == 0)
+            throw new IllegalStateException("No possible answers left");
+        if (size <= 2)
+            return matrix.answer(candidateIds[0]);
+
+        String guess = CACHE.get(CandidateKey.of(candidateIds, size),
+                () -> matrix.guess(bestGuess(matrix, candidateIds, size)));
+        if (feedback == null)
+            openingGuess = guess;
+        return guess;
+    }
+
+    @Override
+    public void reset() {
+        candidates.reset();
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        return true;
+    }
+
+    /**
+     * Finds the guess with the highest entropy over the given candidates. The
+     * guesses are scored in parallel.
+     *
+     * @param matrix
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @return the id of the best guess
+     */
+    static int bestGuess(FeedbackMatrix matrix, int[] candidates, int size) {// O(n*m)
+        return bestGuess(matrix, candidates, size, null);
+    }
+
+    /**
+     * Finds the guess with the highest entropy over the given candidates, among
+     * the guesses in <code>pool</code>.
+     *
+     * @param matrix
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @param pool       bitset of the guess ids to consider, or null to consider
+     *                   every guess. It must not be empty.
+     * @return the id of the best guess
+     */
+    static int bestGuess(FeedbackMatrix matrix, int[] candidates, int size, long[] pool) {// O(n*m)
+        boolean[] isCandidate = GuessScan.isCandidate(matrix, candidates, size); // O(n + m)
+        Supplier<GuessScan.Scorer> scorers = () -> {
+            GuessScan.Scorer entropy = scorer(matrix, candidates, size);
+            if (pool == null)
+                return entropy;
+            return guessId -> (pool[guessId >>> 6] & (1L << guessId)) == 0 ? Double.NaN : entropy.score(guessId);
+        };
+        return GuessScan.bestGuess(matrix.guessCount(), scorers, guessId -> isCandidate[guessId] ? 1 : 0); // O(n*m)
+    }
+
+    /**
+     * Finds the <code>k</code> guesses with the highest entropy over the given
+     * candidates, best first, ordered like {@link #bestGuess}.
+     *
+     * @param matrix
+     * @param candidates  answer ids
+     * @param size        number of candidates
+     * @param isCandidate for each guess id, true if it is one of the candidates
+     * @param k
+     * @return the ids of the guesses
+     */
+    static int[] topGuesses(FeedbackMatrix matrix, int[] candidates, int size, boolean[] isCandidate, int k) {// O(n*m)
+        double[] entropies = GuessScan.scores(matrix.guessCount(), () -> scorer(matrix, candidates, size)); // O(n*m)
+        return GuessScan.top(entropies, guessId -> isCandidate[guessId] ? 1 : 0, k); // O(n*k)
+    }
+
+    /**
+     * @return a scorer giving the entropy of a guess over the candidates, with its
+     *         own PatternBuckets
+     */
+    private static GuessScan.Scorer scorer(FeedbackMatrix matrix, int[] candidates, int size) {
+        PatternBuckets buckets = new PatternBuckets(matrix);
+        return guessId -> buckets.entropy(guessId, candidates, size); // O(m)
+    }
+
+}
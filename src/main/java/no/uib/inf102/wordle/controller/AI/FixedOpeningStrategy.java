@@ -0,0 +1,74 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * A strategy that always opens with a given word and then lets another
+ * strategy make the rest of the guesses. It is used to compute the opening of
+ * a strategy with a fixed opening once and share it between many instances,
+ * see {@link IStrategy#hasFixedOpening()}.
+ */
+public class FixedOpeningStrategy implements IStrategy {
+
+    private final IStrategy strategy;
+    private final String opening;
+
+    /**
+     * @param strategy the strategy making every guess but the first
+     * @param opening  the first guess of every game
+     */
+    public FixedOpeningStrategy(IStrategy strategy, String opening) {
+        this.strategy = strategy;
+        this.opening = opening;
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null)
+            return opening;
+        return strategy.makeGuess(feedback);
+    }
+
+    @Override
+    public void reset() {
+        strategy.reset();
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        return true;
+    }
+
+    /**
+     * Creates a factory of strategies that share one opening computation. If the
+     * strategies of <code>factory</code> do not have a fixed opening,
+     * <code>factory</code> is returned as it is.
+     * 
+     * @param factory
+     * @return the factory
+     */
+    public static Supplier<? extends IStrategy> sharingOpening(Supplier<? extends IStrategy> factory) {
+        IStrategy first = factory.get();
+        if (!first.hasFixedOpening())
+            return factory;
+        String opening = first.makeGuess(null);
+        first.reset();
+        AtomicReference<IStrategy> unused = new AtomicReference<>(first);
+        return () -> {
+            // Hand out the instance used to find the opening before creating new ones
+            IStrategy strategy = unused.getAndSet(null);
+            return new FixedOpeningStrategy(strategy != null ? strategy : factory.get(), opening);
+        };
+    }
+
+    /**
+     * @return the strategy making every guess but the first
+     */
+    public IStrategy strategy() {
+        return strategy;
+    }
+
+}
@@ -10,7 +10,7 @@ import no.uib.inf102.wordle.model.word.WordleWordList;
  */
 public class FrequencyStrategy implements IStrategy {
 
-    private WordleWordList guesses;
+    private final WordleWordList guesses = new WordleWordList();
 
     public FrequencyStrategy() {
         reset();
@@ -26,6 +26,11 @@ public class FrequencyStrategy implements IStrategy {
 
     @Override
     public void reset() {
-        guesses = new WordleWordList();
+        guesses.reset();
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+
+/**
+ * Scores every guess in parallel and finds the best one, for the strategies
+ * that choose a guess by a score over the possible answers.
+ * <br>
+ * </br>
+ * The guesses are split into <code>CHUNKS</code> chunks of consecutive ids,
+ * and each chunk is scored by its own Scorer, so a scorer can keep buffers
+ * such as a PatternBuckets without sharing them. A higher score is better.
+ * Ties are broken by a tie-break value, higher is better, and then by the
+ * lowest guess id, so the result does not depend on the order the chunks
+ * finish in.
+ */
+final class GuessScan {
+
+    /**
+     * Guesses are scored in this many chunks, each with its own Scorer.
+     */
+    static final int CHUNKS = 4 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Scores closer than this are equal, so rounding does not decide ties.
+     */
+    private static final double EPSILON = 1e-9;
+
+    private GuessScan() {
+    }
+
+    /**
+     * Scores the guesses of one chunk, in increasing order of id.
+     */
+    @FunctionalInterface
+    interface Scorer {
+
+        /**
+         * @param guessId
+         * @return the score of the guess, higher is better, or NaN to skip it
+         */
+        double score(int guessId);
+
+        /**
+         * Called after a guess became the best of the chunk.
+         *
+         * @return true if no later guess of the chunk can beat it
+         */
+        default boolean isDone() {
+            return false;
+        }
+    }
+
+    /**
+     * Finds the guess with the highest score.
+     *
+     * @param guessCount the number of guesses
+     * @param scorers    creates one scorer for each chunk
+     * @param tieBreak   gives the tie-break value of a guess
+     * @return the id of the best guess
+     * @throws java.util.NoSuchElementException if every guess was skipped
+     */
+    static int bestGuess(int guessCount, Supplier<? extends Scorer> scorers, IntUnaryOperator tieBreak) {// O(n) scores
+        int chunkSize = (guessCount + CHUNKS - 1) / CHUNKS;
+        return IntStream.range(0, CHUNKS).parallel()
+                .mapToObj(chunk -> {
+                    Scorer scorer = scorers.get();
+                    int bestId = -1;
+                    double bestScore = 0;
+                    int end = Math.min(guessCount, (chunk + 1) * chunkSize);
+                    for (int guessId = chunk * chunkSize; guessId < end; guessId++) { // O(n/CHUNKS)
+                        double score = scorer.score(guessId);
+                        if (Double.isNaN(score))
+                            continue;
+                        if (bestId < 0 || isBetter(score, tieBreak.applyAsInt(guessId), guessId,
+                                bestScore, tieBreak.applyAsInt(bestId), bestId)) {
+                            bestId = guessId;
+                            bestScore = score;
+                            if (scorer.isDone())
+                                break;
+                        }
+                    }
+                    return bestId < 0 ? null : new Score(bestId, bestScore, tieBreak.applyAsInt(bestId));
+                })
+                .filter(score -> score != null)
+                .reduce((a, b) -> b.isBetterThan(a) ? b : a)
+                .orElseThrow()
+                .guessId;
+    }
+
+    /**
+     * Scores every guess.
+     *
+     * @param guessCount the number of guesses
+     * @param scorers    creates one scorer for each chunk
+     * @return the score of each guess, by id
+     */
+    static double[] scores(int guessCount, Supplier<? extends Scorer> scorers) {// O(n) scores
+        double[] scores = new double[guessCount];
+        int chunkSize = (guessCount + CHUNKS - 1) / CHUNKS;
+        IntStream.range(0, CHUNKS).parallel().forEach(chunk -> {
+            Scorer scorer = scorers.get();
+            int end = Math.min(guessCount, (chunk + 1) * chunkSize);
+            for (int guessId = chunk * chunkSize; guessId < end; guessId++) // O(n/CHUNKS)
+                scores[guessId] = scorer.score(guessId);
+        });
+        return scores;
+    }
+
+    /**
+     * Finds the <code>k</code> guesses with the highest scores, best first, in
+     * the same order as {@link #bestGuess}. Guesses scored NaN are left out.
+     *
+     * @param scores   the score of each guess, by id
+     * @param tieBreak gives the tie-break value of a guess
+     * @param k
+     * @return the ids of at most <code>k</code> guesses
+     */
+    static int[] top(double[] scores, IntUnaryOperator tieBreak, int k) {// O(n*k)
+        // Insertion into a sorted array of the best k, which is cheap for small k
+        int[] top = new int[Math.min(k, scores.length)];
+        int found = 0;
+        for (int guessId = 0; guessId < scores.length; guessId++) { // O(n*k)
+            if (Double.isNaN(scores[guessId]))
+                continue;
+            if (found == top.length && !isBetter(scores, tieBreak, guessId, top[top.length - 1]))
+                continue;
+            int i = found < top.length ? found++ : top.length - 1;
+            while (i > 0 && isBetter(scores, tieBreak, guessId, top[i - 1])) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = guessId;
+        }
+        return found == top.length ? top : Arrays.copyOf(top, found);
+    }
+
+    /**
+     * Marks the guesses that can be the answer.
+     *
+     * @param matrix
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @return for each guess id, true if the guess is one of the candidates
+     */
+    static boolean[] isCandidate(FeedbackMatrix matrix, int[] candidates, int size) {// O(n + m)
+        boolean[] isCandidate = new boolean[matrix.guessCount()]; // O(n)
+        for (int i = 0; i < size; i++) // O(m)
+            isCandidate[matrix.guessId(matrix.answer(candidates[i]))] = true; // O(1)
+        return isCandidate;
+    }
+
+    private static boolean isBetter(double[] scores, IntUnaryOperator tieBreak, int guessId, int otherId) {
+        return isBetter(scores[guessId], tieBreak.applyAsInt(guessId), guessId,
+                scores[otherId], tieBreak.applyAsInt(otherId), otherId);
+    }
+
+    static boolean isBetter(double score, int tie, int guessId, double otherScore, int otherTie, int otherGuessId) {
+        if (Math.abs(score - otherScore) > EPSILON)
+            return score > otherScore;
+        if (tie != otherTie)
+            return tie > otherTie;
+        return guessId < otherGuessId;
+    }
+
+    /**
+     * The best guess of a chunk. Scores are totally ordered so that the parallel
+     * search always picks the same guess.
+     */
+    private record Score(int guessId, double score, int tie) {
+
+        boolean isBetterThan(Score other) {
+            return isBetter(score, tie, guessId, other.score, other.tie, other.guessId);
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import no.uib.inf102.wordle.model.word.CandidateSet;
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.HardModeIndex;
+import no.uib.inf102.wordle.model.word.WordConstraints;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * This strategy plays by the rules of hard mode, where every guess must use
+ * the hints received so far. Among the guesses that are legal in hard mode,
+ * it picks the one with the highest entropy, like EntropyStrategy.
+ * <br>
+ * </br>
+ * The legal guesses are found with a HardModeIndex from the constraints of the
+ * feedback so far, so no guess word is checked against the feedback.
+ */
+public class HardModeStrategy implements IStrategy {
+
+    private static class Index {
+        static final HardModeIndex INDEX = new HardModeIndex(FeedbackMatrix.get());
+    }
+
+    /**
+     * With no feedback every guess is legal, so the first guess is the same as
+     * for EntropyStrategy and is computed once for all instances.
+     */
+    private static volatile String openingGuess;
+
+    private final FeedbackMatrix matrix;
+    private final CandidateSet candidates;
+    private final int[] candidateIds;
+    private final WordConstraints constraints;
+    private final long[] pool;
+
+    public HardModeStrategy() {
+        this.matrix = FeedbackMatrix.get();
+        this.candidates = new CandidateSet(matrix);
+        this.candidateIds = new int[matrix.answerCount()];
+        this.constraints = new WordConstraints(matrix.wordLength());
+        this.pool = Index.INDEX.newBitset();
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null && openingGuess != null)
+            return openingGuess;
+        if (feedback != null) {
+            candidates.eliminateWords(feedback);
+            constraints.add(feedback.getWordString(), feedback.feedbackCode());
+        }
+
+        int size = candidates.toArray(candidateIds);
+        if (size == 0)
+            throw new IllegalStateException("No possible answers left");
+        if (size <= 2)
+            return matrix.answer(candidateIds[0]);
+
+        // Every possible answer is a legal guess, so the pool is never empty
+        Index.INDEX.allowedGuesses(constraints, pool); // O(k * n/64)
+        String guess = matrix.guess(EntropyStrategy.bestGuess(matrix, candidateIds, size, pool));
+        if (feedback == null)
+            openingGuess = guess;
+        return guess;
+    }
+
+    @Override
+    public void reset() {
+        candidates.reset();
+        constraints.reset();
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        return true;
+    }
+
+}
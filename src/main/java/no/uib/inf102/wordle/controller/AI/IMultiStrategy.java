@@ -0,0 +1,29 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.List;
+
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * A strategy for games on several boards at once, see MultiWordleModel. Each
+ * guess is played on every board that is not solved yet.
+ */
+public interface IMultiStrategy {
+
+    /**
+     * Make a guess for all boards based on the feedback of the last guess.
+     *
+     * @param feedback the feedback of the last guess on each board, in board
+     *                 order, with null for the boards that were solved before
+     *                 it. Null for the first guess.
+     * @return the guess
+     */
+    String makeGuess(List<WordleWord> feedback);
+
+    /**
+     * This method is called when there are new words to guess.
+     * It should reset any internal variables to make guesses for new words.
+     */
+    void reset();
+
+}
@@ -17,4 +17,16 @@ public interface IStrategy {
      */
     void reset();
 
+    /**
+     * Tells if the first guess of every game is the same word, so it can be
+     * computed once and shared by many games. If true, the strategy must also
+     * work when the first call after reset is given feedback on that word,
+     * without having been asked for the word itself.
+     * 
+     * @return true if the first guess never changes
+     */
+    default boolean hasFixedOpening() {
+        return false;
+    }
+
 }
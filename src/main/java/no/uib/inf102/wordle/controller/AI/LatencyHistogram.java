@@ -0,0 +1,158 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of latencies in nanoseconds with log-linear buckets, like an HDR
+ * histogram. Values below 64 have a bucket each, and above that every power of
+ * two is split into 32 buckets, so any recorded value is known to within about
+ * 3% while the histogram has a fixed size of less than 2000 counters.
+ * <br>
+ * </br>
+ * Recording is O(1) and does not allocate. Histograms can be merged, so
+ * workers can record into their own histogram and the results be combined
+ * afterwards.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public LatencyHistogram() {
+    }
+
+    /**
+     * Creates a copy of the given histogram.
+     * 
+     * @param other
+     */
+    public LatencyHistogram(LatencyHistogram other) {
+        merge(other);
+    }
+
+    /**
+     * Records one latency. Negative values are recorded as 0.
+     * 
+     * @param nanos
+     */
+    public void record(long nanos) {// O(1)
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the latencies recorded in <code>other</code> to this histogram.
+     * 
+     * @param other
+     */
+    public void merge(LatencyHistogram other) {// O(buckets)
+        for (int i = 0; i < BUCKETS; i++)
+            counts[i] += other.counts[i];
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Finds the latency that <code>percentile</code> percent of the recorded
+     * latencies are at or below. The result is the highest value of the bucket the
+     * percentile falls in, but never above the highest recorded value.
+     * 
+     * @param percentile between 0 and 100
+     * @return the latency in nanoseconds, or 0 if nothing is recorded
+     */
+    public long valueAtPercentile(double percentile) {// O(buckets)
+        if (count == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(max, highestValue(i));
+        }
+        return max;
+    }
+
+    /**
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the mean latency in nanoseconds, or NaN if nothing is recorded
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : total / (double) count;
+    }
+
+    /**
+     * @return the lowest recorded latency, or 0 if nothing is recorded
+     */
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * @return the highest recorded latency
+     */
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        LatencyHistogram other = (LatencyHistogram) obj;
+        return count == other.count && total == other.total && getMin() == other.getMin() && max == other.max
+                && Arrays.equals(counts, other.counts);
+    }
+
+    /**
+     * @param value a non-negative value
+     * @return the bucket of the value
+     */
+    static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * @param bucket
+     * @return the highest value in the bucket
+     */
+    static long highestValue(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long top = bucket - shift * SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,316 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import no.uib.inf102.wordle.model.word.CandidateKey;
+import no.uib.inf102.wordle.model.word.CandidateSet;
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.GuessCache;
+import no.uib.inf102.wordle.model.word.PatternBuckets;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * This strategy looks two guesses ahead. The <code>topK</code> guesses with
+ * the highest entropy are taken as first guesses. For each of them, the
+ * possible answers are split into buckets by feedback, and for each bucket
+ * the second guess that leaves the fewest answers on average is found. The
+ * first guess that leaves the fewest answers after both guesses is chosen.
+ * <br>
+ * </br>
+ * The cost of a bucket is the sum of the squared sizes of the buckets the
+ * second guess splits it into, less one if the second guess can be the
+ * answer. A bucket of <code>s</code> answers costs at least
+ * <code>s - 1</code>. The best total cost found so far is shared between the
+ * first guesses, which are evaluated in parallel. The largest buckets are
+ * evaluated first, and a first guess is dropped as soon as its cost so far
+ * plus the least cost of its remaining buckets is more than the best total.
+ * <br>
+ * </br>
+ * The search stops at the latency budget, and the best first guess evaluated
+ * in time is used, or the guess with the highest entropy if none was. Only
+ * guesses from searches that finished are cached, and only an opening from a
+ * search that finished is kept for the next games, so the cache does not
+ * depend on how fast the machine is. With <code>NO_BUDGET</code> every search
+ * finishes, and the guesses are the same on every machine.
+ */
+public class LookaheadStrategy implements IStrategy {
+
+    public static final int DEFAULT_TOP_K = 8;
+
+    /**
+     * Half the timer delay of WordleModel, so a guess is ready before the next
+     * tick of WordleAIController.
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 500;
+
+    /**
+     * A budget that lets every search finish, used when the guesses must not
+     * depend on the speed of the machine.
+     */
+    public static final long NO_BUDGET = Long.MAX_VALUE;
+
+    /**
+     * The best guesses found by instances with <code>DEFAULT_TOP_K</code>. Other
+     * values of K may choose other guesses, so they are not cached.
+     */
+    private static final GuessCache CACHE = new GuessCache("LookaheadStrategy", 1 << 14);
+
+    private final FeedbackMatrix matrix;
+    private final CandidateSet candidates;
+    private final int[] candidateIds;
+    private final int topK;
+    private final long budgetNanos;
+
+    /**
+     * The first guess does not depend on any feedback, so it is only computed once
+     * by a search that finishes.
+     */
+    private String openingGuess;
+
+    /**
+     * Creates a strategy with the latency budget of WordleAIController. Use
+     * <code>NO_BUDGET</code> for guesses that do not depend on the machine.
+     */
+    public LookaheadStrategy() {
+        this(DEFAULT_TOP_K, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param topK         the number of first guesses to look ahead from
+     * @param budgetMillis the most time to spend looking ahead for one guess, or
+     *                     <code>NO_BUDGET</code>
+     * @throws IllegalArgumentException if <code>topK</code> is less than 1 or the
+     *                                  budget is negative
+     */
+    public LookaheadStrategy(int topK, long budgetMillis) {
+        if (topK < 1)
+            throw new IllegalArgumentException("topK must be at least 1 but was " + topK);
+        if (budgetMillis < 0)
+            throw new IllegalArgumentException("The budget can not be negative but was " + budgetMillis);
+        this.matrix = FeedbackMatrix.get();
+        this.candidates = new CandidateSet(matrix);
+        this.candidateIds = new int[matrix.answerCount()];
+        this.topK = topK;
+        this.budgetNanos = budgetMillis >= NO_BUDGET / 1_000_000 ? NO_BUDGET : budgetMillis * 1_000_000;
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null && openingGuess != null)
+            return openingGuess;
+        if (feedback != null)
+            candidates.eliminateWords(feedback);
+
+        int size = candidates.toArray(candidateIds);
+        if (size == 0)
+            throw new IllegalStateException("No possible answers left");
+        if (size <= 2)
+            return matrix.answer(candidateIds[0]);
+
+        CandidateKey key = topK == DEFAULT_TOP_K ? CandidateKey.of(candidateIds, size) : null;
+        String guess = key == null ? null : CACHE.getIfPresent(key);
+        boolean complete = true;
+        if (guess == null) {
+            long deadline = budgetNanos == NO_BUDGET ? NO_BUDGET : System.nanoTime() + budgetNanos;
+            Choice choice = bestGuess(matrix, candidateIds, size, topK, deadline);
+            guess = matrix.guess(choice.guessId());
+            complete = choice.complete();
+            if (key != null && complete)
+                CACHE.put(key, guess);
+        }
+        // An opening cut short by the budget is searched for again in the next game
+        if (feedback == null && complete)
+            openingGuess = guess;
+        return guess;
+    }
+
+    @Override
+    public void reset() {
+        candidates.reset();
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        // With a budget the opening depends on how far the search got
+        return budgetNanos == NO_BUDGET;
+    }
+
+    /**
+     * The guess chosen by a search, and whether the search finished before the
+     * deadline.
+     */
+    record Choice(int guessId, boolean complete) {
+    }
+
+    /**
+     * Finds the best of the <code>topK</code> guesses with the highest entropy
+     * when looking two guesses ahead. The first guesses are evaluated in
+     * parallel.
+     *
+     * @param matrix
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @param topK       the number of first guesses to evaluate
+     * @param deadline   the value of System.nanoTime() to stop searching at
+     * @return the chosen guess
+     */
+    static Choice bestGuess(FeedbackMatrix matrix, int[] candidates, int size, int topK, long deadline) {
+        boolean[] isCandidate = new boolean[matrix.guessCount()]; // O(n)
+        int[] candidateGuessIds = new int[size];
+        for (int i = 0; i < size; i++) { // O(m)
+            candidateGuessIds[i] = matrix.guessId(matrix.answer(candidates[i])); // O(1)
+            isCandidate[candidateGuessIds[i]] = true;
+        }
+
+        int[] firstGuesses = EntropyStrategy.topGuesses(matrix, candidates, size, isCandidate, topK); // O(n*m)
+        long[] costs = new long[firstGuesses.length];
+        AtomicLong incumbent = new AtomicLong(Long.MAX_VALUE);
+        IntStream.range(0, firstGuesses.length).parallel().forEach(rank -> { // O(K*n*m)
+            costs[rank] = new Evaluation(matrix, candidates, candidateGuessIds, size, deadline)
+                    .cost(firstGuesses[rank], incumbent);
+        });
+
+        boolean complete = true;
+        int best = -1;
+        for (int rank = 0; rank < costs.length; rank++) {
+            if (costs[rank] == Evaluation.TIMED_OUT)
+                complete = false;
+            if (costs[rank] < 0)
+                continue;
+            // Ties go to a guess that can be the answer, and then to the higher entropy
+            if (best < 0 || costs[rank] < costs[best] || (costs[rank] == costs[best]
+                    && isCandidate[firstGuesses[rank]] && !isCandidate[firstGuesses[best]]))
+                best = rank;
+        }
+        return new Choice(firstGuesses[best < 0 ? 0 : best], complete);
+    }
+
+    /**
+     * The evaluation of first guesses by one worker, with its own buffers.
+     */
+    private static class Evaluation {
+
+        static final long PRUNED = -1;
+        static final long TIMED_OUT = -2;
+
+        private final FeedbackMatrix matrix;
+        private final int[] candidates;
+        private final int[] candidateGuessIds;
+        private final int size;
+        private final long deadline;
+        private final PatternBuckets buckets;
+        private final long[] keys;
+        private final int[] bucket;
+        private final boolean[] inBucket;
+
+        Evaluation(FeedbackMatrix matrix, int[] candidates, int[] candidateGuessIds, int size, long deadline) {
+            this.matrix = matrix;
+            this.candidates = candidates;
+            this.candidateGuessIds = candidateGuessIds;
+            this.size = size;
+            this.deadline = deadline;
+            this.buckets = new PatternBuckets(matrix);
+            this.keys = new long[size];
+            this.bucket = new int[size];
+            this.inBucket = new boolean[matrix.guessCount()];
+        }
+
+        /**
+         * Computes the total cost of the buckets of <code>firstGuess</code>, each
+         * split by its best second guess.
+         *
+         * @return the cost, PRUNED if it is more than the incumbent, or TIMED_OUT
+         *         if the deadline passed
+         */
+        long cost(int firstGuess, AtomicLong incumbent) {// O(n*m)
+            // Sort the candidates by feedback, so each bucket is a run of keys
+            for (int i = 0; i < size; i++) // O(m)
+                keys[i] = (long) matrix.pattern(firstGuess, candidates[i]) << 32 | i;
+            Arrays.sort(keys, 0, size); // O(m log m)
+
+            // Runs as (length << 32 | start), sorted so the largest come first
+            long[] runs = new long[size];
+            int runCount = 0;
+            long leastRest = 0;
+            for (int start = 0, end; start < size; start = end) { // O(m)
+                end = start + 1;
+                while (end < size && keys[end] >>> 32 == keys[start] >>> 32)
+                    end++;
+                runs[runCount++] = (long) -(end - start) << 32 | start;
+                leastRest += end - start - 1;
+            }
+            Arrays.sort(runs, 0, runCount); // O(m log m)
+
+            long partial = 0;
+            for (int r = 0; r < runCount; r++) {
+                if (System.nanoTime() > deadline)
+                    return TIMED_OUT;
+                int length = (int) -(runs[r] >> 32);
+                int start = (int) runs[r];
+                leastRest -= length - 1;
+                // A bucket never costs more than length^2, the cost of a guess that
+                // does not split it
+                long best = incumbent.get();
+                long allowance = best == Long.MAX_VALUE ? (long) length * length : best - partial - leastRest;
+                if (allowance < length - 1)
+                    return PRUNED;
+
+                for (int i = 0; i < length; i++) // O(m)
+                    bucket[i] = (int) keys[start + i];
+                int bucketCost = secondGuessCost(length, (int) Math.min(allowance, (long) length * length)); // O(n*m)
+                if (bucketCost > allowance)
+                    return PRUNED;
+                partial += bucketCost;
+            }
+            incumbent.accumulateAndGet(partial, Math::min);
+            return partial;
+        }
+
+        /**
+         * Finds the least cost of splitting the bucket with a second guess. The
+         * bucket holds <code>length</code> indexes into the candidates.
+         *
+         * @return the least cost, or a number greater than <code>cutoff</code> if
+         *         it is more than <code>cutoff</code>
+         */
+        private int secondGuessCost(int length, int cutoff) {// O(n*m)
+            // Guessing one of two answers leaves the other one half of the time
+            if (length <= 2)
+                return length - 1;
+
+            int[] ids = new int[length];
+            for (int i = 0; i < length; i++) { // O(m)
+                ids[i] = candidates[bucket[i]];
+                inBucket[candidateGuessIds[bucket[i]]] = true;
+            }
+
+            int least = length - 1;
+            int best = cutoff + 1;
+            try {
+                // Answers in the bucket are often good second guesses, so they are
+                // tried first to lower the cutoff for the rest.
+                for (int i = 0; i < length && best > least; i++) // O(m*m)
+                    best = Math.min(best, cost(candidateGuessIds[bucket[i]], ids, length, best - 1));
+                for (int guessId = 0; guessId < matrix.guessCount() && best > least; guessId++) { // O(n*m)
+                    if (!inBucket[guessId])
+                        best = Math.min(best, cost(guessId, ids, length, best - 1));
+                }
+            } finally {
+                for (int i = 0; i < length; i++) // O(m)
+                    inBucket[candidateGuessIds[bucket[i]]] = false;
+            }
+            return best;
+        }
+
+        private int cost(int guessId, int[] ids, int length, int cutoff) {// O(m)
+            // The answer guessed is found, so its bucket of one costs nothing
+            if (inBucket[guessId])
+                return buckets.sumOfSquares(guessId, ids, length, cutoff + 1) - 1;
+            return buckets.sumOfSquares(guessId, ids, length, cutoff);
+        }
+
+    }
+
+}
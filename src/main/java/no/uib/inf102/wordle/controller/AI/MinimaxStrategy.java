@@ -0,0 +1,143 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import no.uib.inf102.wordle.model.word.CandidateSet;
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.PatternBuckets;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * This strategy guesses the word that leaves the fewest possible answers in
+ * the worst case. For every word that can be guessed, the possible answers are
+ * split into buckets by the feedback that word would get, and the word whose
+ * largest bucket is smallest is chosen.
+ * <br>
+ * </br>
+ * The guesses are scored in parallel. The best largest bucket found so far is
+ * shared between the workers, and counting stops as soon as a guess has a
+ * bucket larger than it, since that guess can not be the best. When two
+ * guesses are equally good, a guess that can itself be the answer is
+ * preferred, and then the guess with the lowest id, so the result does not
+ * depend on the order the workers finish in.
+ */
+public class MinimaxStrategy implements IStrategy {
+
+    private final FeedbackMatrix matrix;
+    private final CandidateSet candidates;
+    private final int[] candidateIds;
+
+    /**
+     * The first guess does not depend on any feedback, so it is only computed once.
+     */
+    private String openingGuess;
+
+    public MinimaxStrategy() {
+        this.matrix = FeedbackMatrix.get();
+        this.candidates = new CandidateSet(matrix);
+        this.candidateIds = new int[matrix.answerCount()];
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null && openingGuess != null)
+            return openingGuess;
+        if (feedback != null)
+            candidates.eliminateWords(feedback);
+
+        int size = candidates.toArray(candidateIds);
+        if (size == 0)
+            throw new IllegalStateException("No possible answers left");
+        if (size <= 2)
+            return matrix.answer(candidateIds[0]);
+
+        String guess = matrix.guess(bestGuess(matrix, candidateIds, size));
+        if (feedback == null)
+            openingGuess = guess;
+        return guess;
+    }
+
+    @Override
+    public void reset() {
+        candidates.reset();
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        return true;
+    }
+
+    /**
+     * Finds the guess with the smallest largest bucket over the given candidates.
+     * The guesses are scored in parallel.
+     *
+     * @param matrix
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @return the id of the best guess
+     */
+    static int bestGuess(FeedbackMatrix matrix, int[] candidates, int size) {// O(n*m)
+        boolean[] isCandidate = GuessScan.isCandidate(matrix, candidates, size); // O(n + m)
+
+        // No guess can split the candidates into smaller buckets than this
+        int lowerBound = Math.max(1, (size + WordleAnswer.patternCount(matrix.wordLength()) - 1)
+                / WordleAnswer.patternCount(matrix.wordLength()));
+        AtomicInteger incumbent = new AtomicInteger(size);
+
+        return GuessScan.bestGuess(matrix.guessCount(), // O(n*m)
+                () -> new Scorer(matrix, candidates, size, isCandidate, lowerBound, incumbent),
+                guessId -> isCandidate[guessId] ? 1 : 0);
+    }
+
+    /**
+     * Scores a guess by its largest bucket, negated so that a higher score is
+     * better. Guesses that can not beat the incumbent are skipped.
+     */
+    private static class Scorer implements GuessScan.Scorer {
+
+        private final int[] candidates;
+        private final int size;
+        private final boolean[] isCandidate;
+        private final int lowerBound;
+        private final AtomicInteger incumbent;
+        private final PatternBuckets buckets;
+
+        /**
+         * The largest bucket of the best guess of this chunk so far.
+         */
+        private int bestLargest = Integer.MAX_VALUE;
+        private boolean done;
+
+        Scorer(FeedbackMatrix matrix, int[] candidates, int size, boolean[] isCandidate, int lowerBound,
+                AtomicInteger incumbent) {
+            this.candidates = candidates;
+            this.size = size;
+            this.isCandidate = isCandidate;
+            this.lowerBound = lowerBound;
+            this.incumbent = incumbent;
+            this.buckets = new PatternBuckets(matrix);
+        }
+
+        @Override
+        public double score(int guessId) {// O(m)
+            // Guesses tied with the incumbent must still be counted fully, since
+            // they may win the tie
+            int cutoff = Math.min(incumbent.get(), bestLargest); // O(1)
+            int largest = buckets.largestBucket(guessId, candidates, size, cutoff); // O(m)
+            if (largest > cutoff)
+                return Double.NaN;
+            bestLargest = largest;
+            incumbent.accumulateAndGet(largest, Math::min); // O(1)
+            // The rest of this chunk has higher ids, so it can not beat this
+            done = largest <= lowerBound && isCandidate[guessId];
+            return -largest;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+    }
+
+}
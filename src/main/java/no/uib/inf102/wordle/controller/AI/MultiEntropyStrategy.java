@@ -0,0 +1,124 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import no.uib.inf102.wordle.model.word.CandidateSet;
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.PatternBuckets;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * An entropy strategy for games on several boards. Every guess is scored by
+ * the sum of its entropy over the possible answers of each unsolved board,
+ * so one pass over the guesses scores all boards at once instead of running
+ * one solver per board.
+ * <br>
+ * </br>
+ * A board with only one possible answer left is solved right away by guessing
+ * that answer. When two guesses are equally good, the guess that can be the
+ * answer on the most boards is preferred.
+ */
+public class MultiEntropyStrategy implements IMultiStrategy {
+
+    /**
+     * Before any feedback all boards have the same possible answers, so the
+     * first guess is the one of EntropyStrategy and is only computed once.
+     */
+    private static volatile String openingGuess;
+
+    private final FeedbackMatrix matrix;
+    private final CandidateSet[] candidates;
+    private final int[][] candidateIds;
+
+    /**
+     * The number of possible answers of each board, or 0 for solved boards.
+     */
+    private final int[] sizes;
+
+    /**
+     * Creates a strategy for games with the given number of boards.
+     *
+     * @param boards
+     */
+    public MultiEntropyStrategy(int boards) {
+        this.matrix = FeedbackMatrix.get();
+        this.candidates = new CandidateSet[boards];
+        this.candidateIds = new int[boards][matrix.answerCount()];
+        this.sizes = new int[boards];
+        for (int b = 0; b < boards; b++)
+            candidates[b] = new CandidateSet(matrix);
+    }
+
+    @Override
+    public String makeGuess(List<WordleWord> feedback) {
+        if (feedback == null)
+            return openingGuess();
+        if (feedback.size() != candidates.length)
+            throw new IllegalArgumentException("Expected feedback for " + candidates.length + " boards but got "
+                    + feedback.size());
+
+        for (int b = 0; b < candidates.length; b++) { // O(b*m/64)
+            WordleWord boardFeedback = feedback.get(b);
+            if (boardFeedback == null || boardFeedback.allMatch()) {
+                sizes[b] = 0;
+                continue;
+            }
+            candidates[b].eliminateWords(boardFeedback);
+            sizes[b] = candidates[b].toArray(candidateIds[b]);
+            if (sizes[b] == 0)
+                throw new IllegalStateException("No possible answers left on board " + b);
+        }
+
+        int boardsLeft = 0;
+        for (int b = 0; b < sizes.length; b++) {
+            if (sizes[b] == 1)
+                return matrix.answer(candidateIds[b][0]);
+            if (sizes[b] > 0)
+                boardsLeft++;
+        }
+        if (boardsLeft == 0)
+            throw new IllegalStateException("Every board is solved");
+        return matrix.guess(bestGuess(matrix, candidateIds, sizes));
+    }
+
+    @Override
+    public void reset() {
+        for (CandidateSet set : candidates)
+            set.reset();
+    }
+
+    private String openingGuess() {
+        String guess = openingGuess;
+        if (guess == null) {
+            int[] all = IntStream.range(0, matrix.answerCount()).toArray();
+            guess = matrix.guess(EntropyStrategy.bestGuess(matrix, all, all.length));
+            openingGuess = guess;
+        }
+        return guess;
+    }
+
+    /**
+     * Finds the guess with the highest sum of entropies over the candidates of
+     * each board. The guesses are scored in parallel, and each guess is scored
+     * against all boards at once.
+     *
+     * @param matrix
+     * @param candidates answer ids of each board
+     * @param sizes      number of candidates of each board, 0 for solved boards
+     * @return the id of the best guess
+     */
+    static int bestGuess(FeedbackMatrix matrix, int[][] candidates, int[] sizes) {// O(n*b*m)
+        int[] candidateBoards = new int[matrix.guessCount()]; // O(n)
+        for (int b = 0; b < sizes.length; b++) { // O(b*m)
+            for (int i = 0; i < sizes[b]; i++)
+                candidateBoards[matrix.guessId(matrix.answer(candidates[b][i]))]++; // O(1)
+        }
+
+        return GuessScan.bestGuess(matrix.guessCount(), () -> { // O(n*b*m)
+            PatternBuckets buckets = new PatternBuckets(matrix);
+            return guessId -> buckets.entropySum(guessId, candidates, sizes); // O(b*m)
+        }, guessId -> candidateBoards[guessId]);
+    }
+
+}
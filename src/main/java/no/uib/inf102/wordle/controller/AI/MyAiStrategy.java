@@ -1,15 +1,20 @@
 package no.uib.inf102.wordle.controller.AI;
 
+import no.uib.inf102.wordle.model.word.GuessCache;
+import no.uib.inf102.wordle.model.word.LetterFrequencyTable;
 import no.uib.inf102.wordle.model.word.WordleWord;
 import no.uib.inf102.wordle.model.word.WordleWordList;
 
 import java.util.List;
-import java.util.HashMap;
 import java.util.Random;
 
 public class MyAiStrategy implements IStrategy {
-    private WordleWordList guesses;
-    private WordleWordList copyGuessesList;
+    private final WordleWordList guesses = new WordleWordList();
+
+    /**
+     * The words found by findBestWordByProbability, shared by all instances.
+     */
+    private static final GuessCache PROBABILITY_CACHE = new GuessCache("MyAiStrategy.probability", 1 << 16);
 
     public MyAiStrategy() {
         reset();
@@ -24,7 +29,7 @@ public class MyAiStrategy implements IStrategy {
         }
 
         if (guesses.size() < 4) {
-            String bestWord = findBestWordByProbability();
+            String bestWord = PROBABILITY_CACHE.get(guesses.candidateKey(), this::findBestWordByProbability);
             guesses.remove(bestWord);
 
             return bestWord;
@@ -35,13 +40,16 @@ public class MyAiStrategy implements IStrategy {
 
     @Override
     public void reset() {
-        guesses = new WordleWordList();
-        copyGuessesList = new WordleWordList(guesses.possibleAnswers());
+        guesses.reset();
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        return true;
     }
 
     private String findBestWordByProbability() {
-        List<HashMap<Character, Integer>> originalCommonLetterCounts = guesses
-                .countCommonLetters(copyGuessesList.possibleAnswers());
+        LetterFrequencyTable originalCommonLetterCounts = guesses.dictionary().answerFrequencies();
         List<String> possibleAnswers = guesses.possibleAnswers();
 
         String bestWord = null;
@@ -50,8 +58,8 @@ public class MyAiStrategy implements IStrategy {
         for (String candidateWord : possibleAnswers) {
             double wordProbability = calculateWordProbability(candidateWord, possibleAnswers);
 
-            for (int i = 0; i < originalCommonLetterCounts.size(); i++) {
-                int commonCount = originalCommonLetterCounts.get(i).getOrDefault(candidateWord.charAt(i), 0);
+            for (int i = 0; i < originalCommonLetterCounts.wordLength(); i++) {
+                int commonCount = originalCommonLetterCounts.count(i, candidateWord.charAt(i));
                 wordProbability *= Math.pow(commonCount / (double) possibleAnswers.size(), 2);
             }
 
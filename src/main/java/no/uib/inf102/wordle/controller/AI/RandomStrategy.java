@@ -51,7 +51,7 @@ public class RandomStrategy implements IStrategy {
 
     @Override
     public void reset() {
-        POSSIBLE_WORDS = new ArrayList<>(GetWords.ALL_WORDS_LIST);
+        POSSIBLE_WORDS = new ArrayList<>(GetWords.allWordsList());
         random = new Random();
     }
 
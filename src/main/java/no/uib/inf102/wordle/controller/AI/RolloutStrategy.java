@@ -0,0 +1,271 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import no.uib.inf102.wordle.model.word.CandidateKey;
+import no.uib.inf102.wordle.model.word.CandidateSet;
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.GuessCache;
+import no.uib.inf102.wordle.model.word.PatternBuckets;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * This strategy estimates how many guesses each of the <code>topK</code>
+ * guesses with the highest entropy needs in total, by simulating games to the
+ * end. Each simulated game samples an answer from the possible answers, makes
+ * the guess, and then plays the game out with the logic of FrequencyStrategy:
+ * the possible answer whose letters are most common in their positions is
+ * guessed until the answer is found. The guess with the fewest guesses on
+ * average is chosen.
+ * <br>
+ * </br>
+ * The number of simulated games for each guess is the dial between time and
+ * quality. The games are run in batches on the common fork-join pool. Each
+ * batch has its own SplittableRandom with a seed drawn in advance, and every
+ * guess is simulated against the same sampled answers, so the choice does not
+ * depend on the number of threads and the noise of the samples is shared by
+ * the guesses being compared.
+ * <br>
+ * </br>
+ * A simulated game works on answer ids and primitive letter counts, and a
+ * batch reuses its buffers for all its games, so no WordleWordList is created.
+ */
+public class RolloutStrategy implements IStrategy {
+
+    public static final int DEFAULT_TOP_K = 8;
+    public static final int DEFAULT_ROLLOUTS = 256;
+    public static final long DEFAULT_SEED = 102;
+
+    /**
+     * The number of games simulated by one task of the fork-join pool.
+     */
+    private static final int BATCH_SIZE = 32;
+
+    private static final int LETTERS = 26;
+
+    /**
+     * The best guesses found by instances with the default settings. Other
+     * settings may choose other guesses, so they are not cached.
+     */
+    private static final GuessCache CACHE = new GuessCache("RolloutStrategy", 1 << 16);
+
+    private final FeedbackMatrix matrix;
+    private final CandidateSet candidates;
+    private final int[] candidateIds;
+    private final int topK;
+    private final int rollouts;
+    private final long seed;
+
+    /**
+     * The letters of every answer, <code>wordLength</code> per answer id, as
+     * indexes 0-25.
+     */
+    private final byte[] letters;
+
+    /**
+     * The guess id of every answer.
+     */
+    private final int[] answerGuessIds;
+
+    /**
+     * The first guess does not depend on any feedback, so it is only computed once.
+     */
+    private String openingGuess;
+
+    public RolloutStrategy() {
+        this(DEFAULT_TOP_K, DEFAULT_ROLLOUTS, DEFAULT_SEED);
+    }
+
+    /**
+     * @param topK     the number of guesses to simulate games for
+     * @param rollouts the number of games to simulate for each guess
+     * @param seed     the seed of the sampled answers
+     * @throws IllegalArgumentException if <code>topK</code> or
+     *                                  <code>rollouts</code> is less than 1
+     */
+    public RolloutStrategy(int topK, int rollouts, long seed) {
+        if (topK < 1)
+            throw new IllegalArgumentException("topK must be at least 1 but was " + topK);
+        if (rollouts < 1)
+            throw new IllegalArgumentException("rollouts must be at least 1 but was " + rollouts);
+        this.matrix = FeedbackMatrix.get();
+        this.candidates = new CandidateSet(matrix);
+        this.candidateIds = new int[matrix.answerCount()];
+        this.topK = topK;
+        this.rollouts = rollouts;
+        this.seed = seed;
+
+        int wordLength = matrix.wordLength();
+        this.letters = new byte[matrix.answerCount() * wordLength];
+        this.answerGuessIds = new int[matrix.answerCount()];
+        for (int a = 0; a < matrix.answerCount(); a++) { // O(m*k)
+            String answer = matrix.answer(a);
+            for (int i = 0; i < wordLength; i++)
+                letters[a * wordLength + i] = (byte) (answer.charAt(i) - 'a');
+            answerGuessIds[a] = matrix.guessId(answer);
+        }
+    }
+
+    @Override
+    public String makeGuess(WordleWord feedback) {
+        if (feedback == null && openingGuess != null)
+            return openingGuess;
+        if (feedback != null)
+            candidates.eliminateWords(feedback);
+
+        int size = candidates.toArray(candidateIds);
+        if (size == 0)
+            throw new IllegalStateException("No possible answers left");
+        if (size <= 2)
+            return matrix.answer(candidateIds[0]);
+
+        String guess;
+        if (topK == DEFAULT_TOP_K && rollouts == DEFAULT_ROLLOUTS && seed == DEFAULT_SEED)
+            guess = CACHE.get(CandidateKey.of(candidateIds, size), () -> matrix.guess(bestGuess(size)));
+        else
+            guess = matrix.guess(bestGuess(size));
+        if (feedback == null)
+            openingGuess = guess;
+        return guess;
+    }
+
+    @Override
+    public void reset() {
+        candidates.reset();
+    }
+
+    @Override
+    public boolean hasFixedOpening() {
+        return true;
+    }
+
+    /**
+     * Finds the guess among the <code>topK</code> guesses with the highest
+     * entropy that needs the fewest guesses in the simulated games.
+     *
+     * @param size number of candidates in <code>candidateIds</code>
+     * @return the id of the best guess
+     */
+    private int bestGuess(int size) {// O(n*m + K*r*m)
+        boolean[] isCandidate = new boolean[matrix.guessCount()]; // O(n)
+        for (int i = 0; i < size; i++) // O(m)
+            isCandidate[answerGuessIds[candidateIds[i]]] = true;
+        int[] firstGuesses = EntropyStrategy.topGuesses(matrix, candidateIds, size, isCandidate, topK); // O(n*m)
+        if (firstGuesses.length == 1)
+            return firstGuesses[0];
+
+        // The same seeds are used for every guess, so they play the same answers
+        int batches = (rollouts + BATCH_SIZE - 1) / BATCH_SIZE;
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] seeds = new long[batches];
+        for (int b = 0; b < batches; b++)
+            seeds[b] = random.nextLong();
+
+        long[] totals = new long[firstGuesses.length * batches];
+        IntStream.range(0, totals.length).parallel().forEach(task -> { // O(K*r*m)
+            int rank = task / batches;
+            int batch = task % batches;
+            int games = Math.min(BATCH_SIZE, rollouts - batch * BATCH_SIZE);
+            totals[task] = new Simulation(size).play(firstGuesses[rank], games, new SplittableRandom(seeds[batch]));
+        });
+
+        int best = 0;
+        long bestTotal = Long.MAX_VALUE;
+        for (int rank = 0; rank < firstGuesses.length; rank++) {
+            long total = 0;
+            for (int b = 0; b < batches; b++)
+                total += totals[rank * batches + b];
+            // Ties go to a guess that can be the answer, and then to the higher entropy
+            if (total < bestTotal || (total == bestTotal
+                    && isCandidate[firstGuesses[rank]] && !isCandidate[firstGuesses[best]])) {
+                best = rank;
+                bestTotal = total;
+            }
+        }
+        return firstGuesses[best];
+    }
+
+    /**
+     * The buffers of one batch of simulated games.
+     */
+    private class Simulation {
+
+        private final int size;
+        private final int allCorrect;
+        private final int[] remaining;
+        private final int[] counts;
+
+        Simulation(int size) {
+            this.size = size;
+            this.allCorrect = WordleAnswer.allCorrectCode(matrix.wordLength());
+            this.remaining = new int[size];
+            this.counts = new int[matrix.wordLength() * LETTERS];
+        }
+
+        /**
+         * Plays <code>games</code> games starting with <code>firstGuess</code>
+         * against answers sampled from the candidates.
+         *
+         * @return the total number of guesses in the games
+         */
+        long play(int firstGuess, int games, SplittableRandom random) {// O(games*m)
+            long total = 0;
+            for (int g = 0; g < games; g++)
+                total += playOut(firstGuess, candidateIds[random.nextInt(size)]);
+            return total;
+        }
+
+        /**
+         * @return the number of guesses until <code>answerId</code> is guessed
+         */
+        private int playOut(int guessId, int answerId) {// O(m)
+            System.arraycopy(candidateIds, 0, remaining, 0, size); // O(m)
+            int left = size;
+            int guesses = 1;
+            int pattern;
+            while ((pattern = matrix.pattern(guessId, answerId)) != allCorrect) {
+                left = PatternBuckets.filter(matrix, guessId, pattern, remaining, left); // O(left)
+                guessId = answerGuessIds[mostFrequent(left)]; // O(left*k)
+                guesses++;
+            }
+            return guesses;
+        }
+
+        /**
+         * Finds the remaining answer whose letters are most common in their
+         * positions, like WordleWordList.bestword().
+         */
+        private int mostFrequent(int left) {// O(m*k)
+            int wordLength = matrix.wordLength();
+            for (int i = 0; i < left; i++) { // O(m*k)
+                int offset = remaining[i] * wordLength;
+                for (int p = 0; p < wordLength; p++)
+                    counts[p * LETTERS + letters[offset + p]]++;
+            }
+
+            int best = remaining[0];
+            int highscore = -1;
+            for (int i = 0; i < left; i++) { // O(m*k)
+                int offset = remaining[i] * wordLength;
+                int score = 0;
+                for (int p = 0; p < wordLength; p++)
+                    score += counts[p * LETTERS + letters[offset + p]];
+                if (score > highscore) {
+                    highscore = score;
+                    best = remaining[i];
+                }
+            }
+
+            for (int i = 0; i < left; i++) { // O(m*k)
+                int offset = remaining[i] * wordLength;
+                for (int p = 0; p < wordLength; p++)
+                    counts[p * LETTERS + letters[offset + p]] = 0;
+            }
+            return best;
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import java.util.function.Supplier;
+
+/**
+ * The strategies that can be chosen by name, for example on the command line.
+ */
+public enum StrategyType {
+
+    RANDOM(RandomStrategy::new),
+    ELIMINATE(EliminateStrategy::new),
+    FREQUENCY(FrequencyStrategy::new),
+    MYAI(MyAiStrategy::new),
+    ENTROPY(EntropyStrategy::new),
+    MINIMAX(MinimaxStrategy::new),
+    DECISIONTREE(DecisionTreeStrategy::new),
+    HARDMODE(HardModeStrategy::new),
+    LOOKAHEAD(() -> new LookaheadStrategy(LookaheadStrategy.DEFAULT_TOP_K, LookaheadStrategy.NO_BUDGET)),
+    ROLLOUT(RolloutStrategy::new);
+
+    private final Supplier<IStrategy> factory;
+
+    private StrategyType(Supplier<IStrategy> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * @return a new instance of this strategy
+     */
+    public IStrategy create() {
+        return factory.get();
+    }
+
+    /**
+     * @return a factory creating new instances of this strategy
+     */
+    public Supplier<IStrategy> factory() {
+        return factory;
+    }
+
+    /**
+     * Finds the strategy with the given name, ignoring case. The name can be the
+     * name of the constant or the simple name of the strategy class.
+     * 
+     * @param name
+     * @return the strategy type
+     * @throws IllegalArgumentException if there is no strategy with that name
+     */
+    public static StrategyType fromName(String name) {
+        String key = name.trim().toUpperCase();
+        if (key.endsWith("STRATEGY"))
+            key = key.substring(0, key.length() - "STRATEGY".length());
+        for (StrategyType type : values()) {
+            if (type.name().equals(key))
+                return type;
+        }
+        throw new IllegalArgumentException("Unknown strategy '" + name + "'");
+    }
+
+}
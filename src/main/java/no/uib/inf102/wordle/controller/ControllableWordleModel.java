@@ -25,6 +25,13 @@ public interface ControllableWordleModel {
      */
     WordleWord makeGuess() throws IllegalArgumentException;
  
+    /**
+     * In hard mode every guess must use the hints received so far, and
+     * makeGuess() throws IllegalArgumentException for guesses that do not.
+     * @return true if the game is played in hard mode
+     */
+    boolean isHardMode();
+
     /**
      * Get current game state. The game state expresses if the game is in active, game is over, etc.
      * @return current game state.
@@ -6,6 +6,7 @@ import java.awt.event.KeyListener;
 import javax.swing.Timer;
 
 import no.uib.inf102.wordle.controller.AI.EliminateStrategy;
+import no.uib.inf102.wordle.controller.AI.HardModeStrategy;
 import no.uib.inf102.wordle.controller.AI.IStrategy;
 import no.uib.inf102.wordle.controller.AI.MyAiStrategy;
 import no.uib.inf102.wordle.controller.AI.RandomStrategy;
@@ -35,7 +36,11 @@ public class WordleAIController implements KeyListener {
         // this.AI = new EliminateStrategy();
         // this.AI = new FrequencyStrategy();
         // this.AI = new MyAiStrategy();
-        this.AI = new MyAiStrategy();
+        // this.AI = new EntropyStrategy();
+        // this.AI = new DecisionTreeStrategy();
+        // this.AI = new LookaheadStrategy();
+        // this.AI = new RolloutStrategy();
+        this.AI = model.isHardMode() ? new HardModeStrategy() : new MyAiStrategy();
 
         view.addKeyListener(this);
         view.setFocusable(true);
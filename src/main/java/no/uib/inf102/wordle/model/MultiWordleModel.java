@@ -0,0 +1,141 @@
+package no.uib.inf102.wordle.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.resources.GetWords;
+
+/**
+ * A game of Wordle on several boards at once, like Quordle (4 boards),
+ * Octordle (8 boards) or Sedecordle (16 boards). Each board has its own
+ * answer, and every guess is played on all boards that are not solved yet.
+ * The game is won when every board is solved within the allowed number of
+ * guesses.
+ */
+public class MultiWordleModel {
+
+    private final List<WordleAnswer> answers;
+    private final List<WordleBoard> boards;
+    private final boolean[] solved;
+    private final int maxGuesses;
+
+    private int guessCount;
+    private int solvedCount;
+    private GameState gameState;
+
+    /**
+     * Creates a game with one board for each answer and
+     * <code>defaultMaxGuesses(answers.size())</code> guesses.
+     *
+     * @param answers
+     */
+    public MultiWordleModel(List<WordleAnswer> answers) {
+        this(answers, defaultMaxGuesses(answers.size()));
+    }
+
+    /**
+     * Creates a game with one board for each answer.
+     *
+     * @param answers    the answer of each board
+     * @param maxGuesses the number of guesses allowed
+     * @throws IllegalArgumentException if there are no answers
+     */
+    public MultiWordleModel(List<WordleAnswer> answers, int maxGuesses) {
+        if (answers.isEmpty())
+            throw new IllegalArgumentException("A game needs at least one board");
+        this.answers = List.copyOf(answers);
+        this.maxGuesses = maxGuesses;
+        this.solved = new boolean[answers.size()];
+        this.boards = new ArrayList<>(answers.size());
+        for (int i = 0; i < answers.size(); i++)
+            boards.add(new WordleBoard(maxGuesses, GetWords.wordLength()));
+        this.gameState = GameState.ACTIVE_GAME;
+    }
+
+    /**
+     * The number of guesses the usual multi-board games allow: 9 for 4 boards,
+     * 13 for 8 boards and 21 for 16 boards.
+     *
+     * @param boardCount
+     * @return <code>boardCount + 5</code>
+     */
+    public static int defaultMaxGuesses(int boardCount) {
+        return boardCount + 5;
+    }
+
+    /**
+     * Plays the guess on every board that is not solved yet.
+     *
+     * @param guess
+     * @return the feedback on each board, in board order, with null for the
+     *         boards that were solved by an earlier guess
+     * @throws IllegalArgumentException if the guess is not a legal guess
+     * @throws IllegalStateException    if the game is over
+     */
+    public List<WordleWord> makeGuess(String guess) {// O(b*k)
+        if (gameState != GameState.ACTIVE_GAME)
+            throw new IllegalStateException("The game is over");
+        if (!GetWords.isLegalGuess(guess))
+            throw new IllegalArgumentException("The word '" + guess + "' is not a legal guess");
+
+        WordleWord[] feedback = new WordleWord[answers.size()];
+        for (int i = 0; i < feedback.length; i++) { // O(b)
+            if (solved[i])
+                continue;
+            feedback[i] = answers.get(i).makeGuess(guess); // O(k)
+            boards.get(i).setRow(feedback[i]);
+            if (feedback[i].allMatch()) {
+                solved[i] = true;
+                solvedCount++;
+            }
+        }
+
+        guessCount++;
+        if (solvedCount == answers.size())
+            gameState = GameState.VICTORY;
+        else if (guessCount >= maxGuesses)
+            gameState = GameState.GAME_OVER;
+        return Collections.unmodifiableList(Arrays.asList(feedback));
+    }
+
+    /**
+     * @param board
+     * @return true if the answer of the board has been guessed
+     */
+    public boolean isSolved(int board) {
+        return solved[board];
+    }
+
+    /**
+     * @param board
+     * @return the board with the given index
+     */
+    public WordleBoard getBoard(int board) {
+        return boards.get(board);
+    }
+
+    public int boardCount() {
+        return answers.size();
+    }
+
+    public int solvedCount() {
+        return solvedCount;
+    }
+
+    public int guessCount() {
+        return guessCount;
+    }
+
+    public int maxGuesses() {
+        return maxGuesses;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+}
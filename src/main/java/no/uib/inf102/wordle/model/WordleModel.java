@@ -9,9 +9,9 @@ import no.uib.inf102.grid.GridDimension;
 import no.uib.inf102.wordle.controller.ControllableWordleModel;
 import no.uib.inf102.wordle.model.word.WordleCharacter;
 import no.uib.inf102.wordle.model.word.AnswerType;
+import no.uib.inf102.wordle.model.word.WordConstraints;
 import no.uib.inf102.wordle.model.word.WordleAnswer;
 import no.uib.inf102.wordle.model.word.WordleWord;
-import no.uib.inf102.wordle.resources.GetWords;
 import no.uib.inf102.wordle.view.ViewableWordleModel;
 
 public class WordleModel implements ViewableWordleModel, ControllableWordleModel {
@@ -31,10 +31,26 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
 
     private GameState gameState;
 
+    /**
+     * If true, every guess must use the hints given so far.
+     */
+    private final boolean hardMode;
+    /**
+     * The hints given so far, so hard mode can check a guess without looking at
+     * the board.
+     */
+    private final WordConstraints constraints;
+
     public WordleModel(WordleBoard board) {
+        this(board, false);
+    }
+
+    public WordleModel(WordleBoard board, boolean hardMode) {
         this.board = board;
         this.answer = new WordleAnswer();
         this.currentGuess = "";
+        this.hardMode = hardMode;
+        this.constraints = new WordConstraints(board.cols());
 
         this.gameState = GameState.ACTIVE_GAME;
     }
@@ -50,7 +66,7 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
 
     @Override
     public boolean addCharacter(char c) {
-    	if(currentGuess.length()>=GetWords.WORD_LENGTH)
+    	if(currentGuess.length()>=board.cols())
     		return false;
     	currentGuess = currentGuess+c;
         return true;
@@ -58,11 +74,12 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
 
     @Override
     public WordleWord makeGuess() throws IllegalArgumentException {
-        if (!GetWords.isLegalGuess(currentGuess))
-            throw new IllegalArgumentException("Word is not legal");
-    
-        // Check what letters were CORRECT/WRONG POSITION/WRONG
+        // Check what letters were CORRECT/WRONG POSITION/WRONG.
+        // The answer throws IllegalArgumentException if the guess is not legal.
         WordleWord guessFeedback = answer.makeGuess(currentGuess);
+        if (hardMode && !constraints.allowsHardModeGuess(currentGuess)) // O(k)
+            throw new IllegalArgumentException("The word '" + currentGuess + "' does not use every hint in hard mode");
+        constraints.add(currentGuess, guessFeedback.feedbackCode()); // O(k)
         board.setRow(guessFeedback);
         if (guessFeedback.allMatch())
             gameState = GameState.VICTORY;
@@ -95,6 +112,11 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
         return cellList;
     }
 
+    @Override
+    public boolean isHardMode() {
+        return hardMode;
+    }
+
     @Override
     public GameState getGameState() {
         return gameState;
@@ -116,6 +138,7 @@ public class WordleModel implements ViewableWordleModel, ControllableWordleModel
         this.answer = new WordleAnswer();
         this.currentGuess = "";
         this.board = new WordleBoard(this.board.rows(), this.board.cols());
+        this.constraints.reset();
 
         this.gameState = GameState.ACTIVE_GAME;
     }
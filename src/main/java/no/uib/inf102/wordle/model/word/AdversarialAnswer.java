@@ -0,0 +1,118 @@
+package no.uib.inf102.wordle.model.word;
+
+import no.uib.inf102.wordle.resources.GetWords;
+
+/**
+ * A host that does not choose its answer up front, like Absurdle. It keeps
+ * every answer that is consistent with the feedback given so far, and on each
+ * guess it splits them into buckets by feedback and gives the feedback of the
+ * largest bucket. A strategy playing against it thus always gets the worst
+ * feedback for the guesses it makes.
+ * <br>
+ * </br>
+ * Ties between buckets of the same size go to a bucket that is not the
+ * answer, and then to the lowest feedback code, so the game only ends when a
+ * single answer is left and it is guessed.
+ * <br>
+ * </br>
+ * The answers are kept as an array of answer ids of the FeedbackMatrix, and
+ * the buckets are counted in the primitive counts of a PatternBuckets, so a
+ * guess allocates nothing but the returned feedback.
+ */
+public class AdversarialAnswer implements IWordleAnswer {
+
+    private final FeedbackMatrix matrix;
+    private final PatternBuckets buckets;
+    private final int[] candidates;
+    private final int allCorrect;
+    private int size;
+
+    /**
+     * Creates a host whose answer can be any word of the default FeedbackMatrix.
+     */
+    public AdversarialAnswer() {
+        this(FeedbackMatrix.get());
+    }
+
+    /**
+     * Creates a host whose answer can be any answer word of the given matrix.
+     *
+     * @param matrix
+     */
+    public AdversarialAnswer(FeedbackMatrix matrix) {
+        this.matrix = matrix;
+        this.buckets = new PatternBuckets(matrix);
+        this.candidates = new int[matrix.answerCount()];
+        this.allCorrect = WordleAnswer.allCorrectCode(matrix.wordLength());
+        reset();
+    }
+
+    /**
+     * Makes every answer possible again, to start a new game.
+     */
+    public void reset() {// O(m)
+        for (int a = 0; a < candidates.length; a++)
+            candidates[a] = a;
+        size = candidates.length;
+    }
+
+    @Override
+    public WordleWord makeGuess(String wordGuess) {// O(m)
+        if (!GetWords.isLegalGuess(wordGuess))
+            throw new IllegalArgumentException("The word '" + wordGuess + "' is not a legal guess");
+        String guess = wordGuess.toLowerCase();
+        int guessId = matrix.guessId(guess);
+        if (guessId < 0)
+            throw new IllegalArgumentException("The word '" + wordGuess + "' is not a guess word of the matrix");
+
+        int pattern = largestBucket(guessId); // O(m)
+        size = PatternBuckets.filter(matrix, guessId, pattern, candidates, size); // O(m)
+        return WordleWord.fromCode(guess, pattern);
+    }
+
+    /**
+     * Finds the feedback code of the largest bucket when guessing
+     * <code>guessId</code>, breaking ties as described in the class comment.
+     */
+    private int largestBucket(int guessId) {// O(m)
+        buckets.split(guessId, candidates, size); // O(m)
+        int bestPattern = -1;
+        int bestCount = 0;
+        for (int i = 0; i < size; i++) { // O(m)
+            int pattern = matrix.pattern(guessId, candidates[i]); // O(1)
+            int count = buckets.count(pattern); // O(1)
+            if (bestPattern < 0 || count > bestCount
+                    || (count == bestCount && isBetterTie(pattern, bestPattern))) {
+                bestPattern = pattern;
+                bestCount = count;
+            }
+        }
+        buckets.clear(guessId, candidates, size); // O(m)
+        return bestPattern;
+    }
+
+    private boolean isBetterTie(int pattern, int other) {
+        if ((pattern == allCorrect) != (other == allCorrect))
+            return other == allCorrect;
+        return pattern < other;
+    }
+
+    /**
+     * @return the number of answers that are still consistent with the feedback
+     *         given
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i index less than <code>size()</code>
+     * @return the word of the <code>i</code>th answer still possible
+     */
+    public String candidate(int i) {
+        if (i < 0 || i >= size)
+            throw new IndexOutOfBoundsException(i);
+        return matrix.answer(candidates[i]);
+    }
+
+}
@@ -0,0 +1,69 @@
+package no.uib.inf102.wordle.model.word;
+
+/**
+ * A 128-bit fingerprint of a set of answer ids, used to recognize the same set
+ * of possible answers when it is reached by different guesses.
+ * <br>
+ * </br>
+ * The fingerprint is the XOR of two independent 64-bit hashes of each id
+ * (Zobrist hashing), so it does not depend on the order of the ids and can be
+ * updated in O(1) when a single id is added or removed: XOR-ing the hashes of
+ * an id again removes it.
+ */
+public record CandidateKey(long low, long high) {
+
+    /**
+     * The fingerprint of the empty set.
+     */
+    public static final CandidateKey EMPTY = new CandidateKey(0, 0);
+
+    /**
+     * @param ids  answer ids, each at most once
+     * @param size number of ids
+     * @return the fingerprint of the ids
+     */
+    public static CandidateKey of(int[] ids, int size) {// O(size)
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < size; i++) {
+            low ^= lowHash(ids[i]);
+            high ^= highHash(ids[i]);
+        }
+        return new CandidateKey(low, high);
+    }
+
+    /**
+     * @param id
+     * @return the fingerprint with <code>id</code> added if it was not in the
+     *         set, or removed if it was
+     */
+    public CandidateKey toggle(int id) {
+        return new CandidateKey(low ^ lowHash(id), high ^ highHash(id));
+    }
+
+    /**
+     * @param id
+     * @return the first 64-bit hash of <code>id</code>
+     */
+    public static long lowHash(int id) {
+        return mix(id * 0x9E37_79B9_7F4A_7C15L + 0x6A09_E667_F3BC_C909L);
+    }
+
+    /**
+     * @param id
+     * @return the second 64-bit hash of <code>id</code>, independent of the first
+     */
+    public static long highHash(int id) {
+        return mix(id * 0xC2B2_AE3D_27D4_EB4FL + 0xBB67_AE85_84CA_A73BL);
+    }
+
+    /**
+     * The finalizer of SplitMix64.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,193 @@
+package no.uib.inf102.wordle.model.word;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A set of possible answers held as a bitset over the answer ids of a
+ * FeedbackMatrix. Bit <code>a</code> is set when the answer with id
+ * <code>a</code> is still possible.
+ * <br>
+ * </br>
+ * Eliminating words is done by AND-ing the set with the mask of answers that
+ * give the received feedback, see {@link FeedbackMatrix#mask(int, int)}, so it
+ * costs one operation per 64 answers instead of one feedback check per answer.
+ */
+public class CandidateSet {
+
+    private final FeedbackMatrix matrix;
+    private final long[] all;
+    private final long[] bits;
+
+    /**
+     * Creates a set containing every answer of the given matrix.
+     *
+     * @param matrix
+     */
+    public CandidateSet(FeedbackMatrix matrix) {
+        this.matrix = matrix;
+        this.all = new long[words(matrix.answerCount())];
+        for (int a = 0; a < matrix.answerCount(); a++)
+            all[a >>> 6] |= 1L << a;
+        this.bits = all.clone();
+    }
+
+    /**
+     * Creates a copy of the given set.
+     *
+     * @param other
+     */
+    public CandidateSet(CandidateSet other) {
+        this.matrix = other.matrix;
+        this.all = other.all;
+        this.bits = other.bits.clone();
+    }
+
+    /**
+     * Makes every answer possible again.
+     */
+    public void reset() {// O(m/64)
+        System.arraycopy(all, 0, bits, 0, bits.length);
+    }
+
+    /**
+     * Keeps only the answers that give <code>pattern</code> when guessing
+     * <code>guessId</code>.
+     *
+     * @param guessId
+     * @param pattern feedback code
+     */
+    public void eliminate(int guessId, int pattern) {// O(m/64) once the mask is cached
+        long[] mask = matrix.mask(guessId, pattern);
+        for (int i = 0; i < bits.length; i++)
+            bits[i] &= mask[i];
+    }
+
+    /**
+     * Keeps only the answers that are possible given the feedback.
+     *
+     * @param feedback
+     * @throws IllegalArgumentException if the guessed word is not a guess word of
+     *                                  the matrix
+     */
+    public void eliminateWords(WordleWord feedback) {
+        int guessId = matrix.guessId(feedback.getWordString());
+        if (guessId < 0)
+            throw new IllegalArgumentException("Unknown guess '" + feedback.getWordString() + "'");
+        eliminate(guessId, feedback.feedbackCode());
+    }
+
+    /**
+     * Removes a single answer from the set.
+     *
+     * @param answerId
+     */
+    public void remove(int answerId) {// O(1)
+        bits[answerId >>> 6] &= ~(1L << answerId);
+    }
+
+    public boolean contains(int answerId) {// O(1)
+        return (bits[answerId >>> 6] & (1L << answerId)) != 0;
+    }
+
+    /**
+     * @return the number of possible answers
+     */
+    public int size() {// O(m/64)
+        int size = 0;
+        for (long word : bits)
+            size += Long.bitCount(word);
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first possible answer with id <code>from</code> or higher.
+     *
+     * @param from
+     * @return the answer id, or -1 if there is none
+     */
+    public int next(int from) {
+        int i = from >>> 6;
+        if (i >= bits.length)
+            return -1;
+        long word = bits[i] & (-1L << from);
+        while (true) {
+            if (word != 0)
+                return (i << 6) + Long.numberOfTrailingZeros(word);
+            if (++i == bits.length)
+                return -1;
+            word = bits[i];
+        }
+    }
+
+    /**
+     * Writes the ids of the possible answers, in increasing order, to the start of
+     * <code>ids</code>.
+     *
+     * @param ids an array with room for at least <code>size()</code> ids
+     * @return the number of ids written
+     */
+    public int toArray(int[] ids) {// O(m/64 + size)
+        int n = 0;
+        for (int i = 0; i < bits.length; i++) {
+            long word = bits[i];
+            while (word != 0) {
+                ids[n++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * @return the possible answers as words, in answer id order
+     */
+    public List<String> toList() {
+        List<String> words = new ArrayList<>();
+        for (int a = next(0); a >= 0; a = next(a + 1))
+            words.add(matrix.answer(a));
+        return words;
+    }
+
+    /**
+     * @return the bits of the set. The array must not be modified.
+     */
+    public long[] bits() {
+        return bits;
+    }
+
+    public FeedbackMatrix matrix() {
+        return matrix;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        CandidateSet other = (CandidateSet) obj;
+        return matrix == other.matrix && Arrays.equals(bits, other.bits);
+    }
+
+    static int words(int answerCount) {
+        return (answerCount + 63) >>> 6;
+    }
+
+}
@@ -0,0 +1,251 @@
+package no.uib.inf102.wordle.model.word;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import no.uib.inf102.wordle.resources.GetWords;
+import no.uib.inf102.wordle.resources.LegalWordIndex;
+
+/**
+ * This class holds the feedback of every guess word against every answer word,
+ * so that a feedback can be looked up in O(1) instead of being computed by
+ * {@link WordleAnswer#matchWord(String, String)}.
+ * <br>
+ * </br>
+ * Each feedback is stored as one byte holding the feedback code given by
+ * {@link WordleAnswer#matchCode(String, String)}, or as a short for words of
+ * 6 to 10 letters, whose codes do not fit in a byte. Words are identified by
+ * their index in the guess list and the answer list the matrix was built
+ * from.
+ */
+public class FeedbackMatrix {
+
+    /**
+     * The longest words whose feedback codes fit in a short.
+     */
+    public static final int MAX_WORD_LENGTH = 10;
+
+    private static volatile FeedbackMatrix defaultMatrix;
+
+    private final List<String> guesses;
+    private final List<String> answers;
+    private final Map<String, Integer> guessIds;
+    private final Map<String, Integer> answerIds;
+    private final int wordLength;
+
+    /**
+     * Feedback of guess <code>g</code> against answer <code>a</code> is stored at
+     * index <code>g * answers.size() + a</code>, in <code>patterns</code> when the
+     * codes fit in a byte and in <code>widePatterns</code> otherwise. The other
+     * array is null.
+     */
+    private final byte[] patterns;
+    private final short[] widePatterns;
+
+    /**
+     * For each guess that has been asked for, the masks of answers giving each
+     * pattern. Computing them for all guesses up front would take hundreds of MB,
+     * so they are computed per guess the first time they are needed.
+     */
+    private final AtomicReferenceArray<long[][]> masks;
+    private final long[] emptyMask;
+
+    /**
+     * Builds the feedback matrix for all pairs of the given guesses and answers.
+     *
+     * @param guesses the words that can be guessed
+     * @param answers the words that can be the answer
+     * @throws IllegalArgumentException if the words do not have the same length,
+     *                                  or if they are longer than
+     *                                  MAX_WORD_LENGTH.
+     */
+    public FeedbackMatrix(List<String> guesses, List<String> answers) {
+        this.wordLength = guesses.isEmpty() ? 0 : guesses.get(0).length();
+        if (wordLength > MAX_WORD_LENGTH)
+            throw new IllegalArgumentException("Words of length " + wordLength + " do not fit in a short feedback");
+        for (String word : guesses)
+            checkLength(word);
+        for (String word : answers)
+            checkLength(word);
+
+        this.guesses = List.copyOf(guesses);
+        this.answers = List.copyOf(answers);
+        this.guessIds = indexOf(this.guesses);
+        this.answerIds = indexOf(this.answers);
+        int cells = this.guesses.size() * this.answers.size();
+        boolean wide = WordleAnswer.patternCount(wordLength) > 256;
+        this.patterns = wide ? null : new byte[cells];
+        this.widePatterns = wide ? new short[cells] : null;
+        this.masks = new AtomicReferenceArray<>(this.guesses.size());
+        this.emptyMask = new long[CandidateSet.words(this.answers.size())];
+
+        // Packing every word once lets the n*m feedbacks compare letters without
+        // reading any characters. Words that can not be packed fall back to the
+        // String version.
+        long[] packedGuesses = pack(this.guesses);
+        long[] packedAnswers = pack(this.answers);
+        int nAnswers = this.answers.size();
+        IntStream.range(0, this.guesses.size()).parallel().forEach(g -> { // O(n*m)
+            long guess = packedGuesses[g];
+            int offset = g * nAnswers;
+            for (int a = 0; a < nAnswers; a++) {
+                long answer = packedAnswers[a];
+                int code = guess >= 0 && answer >= 0 ? WordleAnswer.matchCode(guess, answer, wordLength)
+                        : WordleAnswer.matchCode(this.guesses.get(g), this.answers.get(a));
+                if (wide)
+                    widePatterns[offset + a] = (short) code;
+                else
+                    patterns[offset + a] = (byte) code;
+            }
+        });
+    }
+
+    private static long[] pack(List<String> words) {
+        long[] packed = new long[words.size()];
+        for (int i = 0; i < packed.length; i++)
+            packed[i] = LegalWordIndex.pack(words.get(i));
+        return packed;
+    }
+
+    /**
+     * Returns the shared matrix for the words in <code>GetWords</code>. The
+     * matrix is built the first time this method is called.
+     *
+     * @return the feedback matrix of <code>GetWords.allWordsList()</code> against
+     *         <code>GetWords.answerWordsList()</code>
+     */
+    public static FeedbackMatrix get() {
+        FeedbackMatrix matrix = defaultMatrix;
+        if (matrix == null) {
+            synchronized (FeedbackMatrix.class) {
+                matrix = defaultMatrix;
+                if (matrix == null) {
+                    matrix = new FeedbackMatrix(GetWords.allWordsList(), GetWords.answerWordsList());
+                    defaultMatrix = matrix;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the shared matrix if it has already been built, without building
+     * it.
+     *
+     * @return the shared matrix, or null if it has not been built yet
+     */
+    public static FeedbackMatrix getIfBuilt() {
+        return defaultMatrix;
+    }
+
+    /**
+     * Gets the feedback of the given guess against the given answer in O(1).
+     *
+     * @param guessId  index of the guess word
+     * @param answerId index of the answer word
+     * @return the feedback code
+     */
+    public int pattern(int guessId, int answerId) {
+        int index = guessId * answers.size() + answerId;
+        return patterns != null ? patterns[index] & 0xFF : widePatterns[index] & 0xFFFF;
+    }
+
+    /**
+     * Gets the set of answers that give <code>pattern</code> when guessing
+     * <code>guessId</code>, as a bitset over the answer ids. The masks of a guess
+     * are computed in O(m) the first time and then cached.
+     *
+     * @param guessId
+     * @param pattern feedback code
+     * @return the mask. The array must not be modified.
+     */
+    public long[] mask(int guessId, int pattern) {
+        long[][] guessMasks = masks.get(guessId);
+        if (guessMasks == null) {
+            guessMasks = new long[WordleAnswer.patternCount(wordLength)][];
+            for (int a = 0; a < answers.size(); a++) { // O(m)
+                int answerPattern = pattern(guessId, a);
+                if (guessMasks[answerPattern] == null)
+                    guessMasks[answerPattern] = new long[emptyMask.length];
+                guessMasks[answerPattern][a >>> 6] |= 1L << a;
+            }
+            masks.set(guessId, guessMasks);
+        }
+        long[] mask = pattern < guessMasks.length ? guessMasks[pattern] : null;
+        return mask == null ? emptyMask : mask;
+    }
+
+    /**
+     * Index of the feedback of <code>guessId</code> against the first answer in
+     * the array returned by {@link #patterns()}.
+     */
+    int rowOffset(int guessId) {
+        return guessId * answers.size();
+    }
+
+    /**
+     * The feedback codes of all pairs, for the hot loops in this package that
+     * read a whole row at a time.
+     * 
+     * @return the codes, or null if they are stored as shorts
+     */
+    byte[] patterns() {
+        return patterns;
+    }
+
+    /**
+     * @param guess
+     * @return the id of <code>guess</code>, or -1 if it is not a guess word of
+     *         this matrix
+     */
+    public int guessId(String guess) {
+        Integer id = guessIds.get(guess);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param answer
+     * @return the id of <code>answer</code>, or -1 if it is not an answer word of
+     *         this matrix
+     */
+    public int answerId(String answer) {
+        Integer id = answerIds.get(answer);
+        return id == null ? -1 : id;
+    }
+
+    public String guess(int guessId) {
+        return guesses.get(guessId);
+    }
+
+    public String answer(int answerId) {
+        return answers.get(answerId);
+    }
+
+    public int guessCount() {
+        return guesses.size();
+    }
+
+    public int answerCount() {
+        return answers.size();
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    private void checkLength(String word) {
+        if (word.length() != wordLength)
+            throw new IllegalArgumentException("All words must have length " + wordLength + " but got " + word);
+    }
+
+    private static Map<String, Integer> indexOf(List<String> words) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (int i = 0; i < words.size(); i++)
+            ids.put(words.get(i), i);
+        return ids;
+    }
+
+}
@@ -0,0 +1,179 @@
+package no.uib.inf102.wordle.model.word;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache from a set of possible answers, given by its
+ * {@link CandidateKey}, to the guess a strategy makes for that set. Strategies
+ * whose guess only depends on the possible answers can share one cache
+ * between all games and threads, so a set that is reached again is not
+ * searched again.
+ * <br>
+ * </br>
+ * The cache is split into segments by key, each an LRU map with its own lock,
+ * so threads rarely wait for each other. When a segment is full its least
+ * recently used entry is evicted. Hits, misses and evictions are counted.
+ * <br>
+ * </br>
+ * This class is thread-safe.
+ */
+public class GuessCache {
+
+    private static final int SEGMENTS = 16;
+    private static final List<GuessCache> CACHES = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final List<Map<CandidateKey, String>> segments = new ArrayList<>(SEGMENTS);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache. It is added to the list of caches returned by
+     * {@link #caches()}.
+     * 
+     * @param name     name of the cache, for reports
+     * @param capacity the most entries kept
+     */
+    public GuessCache(String name, int capacity) {
+        this.name = name;
+        int segmentCapacity = Math.max(1, capacity / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments.add(new LinkedHashMap<CandidateKey, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CandidateKey, String> eldest) {
+                    if (size() <= segmentCapacity)
+                        return false;
+                    evictions.increment();
+                    return true;
+                }
+            });
+        }
+        CACHES.add(this);
+    }
+
+    /**
+     * @return every cache created so far
+     */
+    public static List<GuessCache> caches() {
+        return Collections.unmodifiableList(CACHES);
+    }
+
+    /**
+     * Finds the guess cached for the given set, or computes and caches it. The
+     * guess is computed without holding any lock, so two threads may compute the
+     * same guess at the same time.
+     * 
+     * @param key     fingerprint of the possible answers, or null if the set can
+     *                not be cached
+     * @param compute computes the guess
+     * @return the guess
+     */
+    public String get(CandidateKey key, Supplier<String> compute) {
+        if (key == null)
+            return compute.get();
+        Map<CandidateKey, String> segment = segment(key);
+        String guess;
+        synchronized (segment) {
+            guess = segment.get(key);
+        }
+        if (guess != null) {
+            hits.increment();
+            return guess;
+        }
+        misses.increment();
+        guess = compute.get();
+        synchronized (segment) {
+            segment.put(key, guess);
+        }
+        return guess;
+    }
+
+    /**
+     * Finds the guess cached for the given set, for strategies that only cache
+     * some of the guesses they compute, see {@link #put(CandidateKey, String)}.
+     * 
+     * @param key fingerprint of the possible answers
+     * @return the cached guess, or null if there is none
+     */
+    public String getIfPresent(CandidateKey key) {
+        Map<CandidateKey, String> segment = segment(key);
+        String guess;
+        synchronized (segment) {
+            guess = segment.get(key);
+        }
+        if (guess != null)
+            hits.increment();
+        else
+            misses.increment();
+        return guess;
+    }
+
+    /**
+     * Caches the guess for the given set.
+     * 
+     * @param key   fingerprint of the possible answers
+     * @param guess
+     */
+    public void put(CandidateKey key, String guess) {
+        Map<CandidateKey, String> segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, guess);
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of cached guesses
+     */
+    public int size() {
+        int size = 0;
+        for (Map<CandidateKey, String> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes every cached guess and sets the counters to 0.
+     */
+    public void clear() {
+        for (Map<CandidateKey, String> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private Map<CandidateKey, String> segment(CandidateKey key) {
+        return segments.get((int) (key.low() >>> 60) & (SEGMENTS - 1));
+    }
+
+}
@@ -0,0 +1,114 @@
+package no.uib.inf102.wordle.model.word;
+
+/**
+ * Bitsets over the guess ids of a FeedbackMatrix, for finding the guesses
+ * that are legal in hard mode without checking every guess word.
+ * <br>
+ * </br>
+ * For each position and letter there is a set of the guesses with that letter
+ * in that position, and for each letter and count <code>k</code> a set of the
+ * guesses with at least <code>k</code> copies of the letter. The legal guesses
+ * are then the AND of one set for each CORRECT letter and one set for each
+ * letter found, which costs O(k * n/64) instead of checking n words.
+ */
+public class HardModeIndex {
+
+    private static final int LETTERS = 26;
+
+    private final int wordLength;
+    private final long[] all;
+
+    /**
+     * <code>atPosition[position * 26 + letter]</code>
+     */
+    private final long[][] atPosition;
+
+    /**
+     * <code>atLeast[letter * wordLength + k - 1]</code> holds the guesses with at
+     * least <code>k</code> copies of the letter.
+     */
+    private final long[][] atLeast;
+
+    /**
+     * Builds the index of the guess words of the given matrix.
+     *
+     * @param matrix
+     * @throws IllegalArgumentException if a guess word has other letters than a-z
+     */
+    public HardModeIndex(FeedbackMatrix matrix) {// O(n*k)
+        this.wordLength = matrix.wordLength();
+        int words = CandidateSet.words(matrix.guessCount());
+        this.all = new long[words];
+        this.atPosition = new long[wordLength * LETTERS][words];
+        this.atLeast = new long[LETTERS * wordLength][words];
+
+        int[] counts = new int[LETTERS];
+        for (int g = 0; g < matrix.guessCount(); g++) { // O(n)
+            String guess = matrix.guess(g);
+            long bit = 1L << g;
+            all[g >>> 6] |= bit;
+            for (int i = 0; i < wordLength; i++) { // O(k)
+                int letter = guess.charAt(i) - 'a';
+                if (letter < 0 || letter >= LETTERS)
+                    throw new IllegalArgumentException("The word '" + guess + "' can only contain the letters a-z");
+                atPosition[i * LETTERS + letter][g >>> 6] |= bit;
+                atLeast[letter * wordLength + counts[letter]][g >>> 6] |= bit;
+                counts[letter]++;
+            }
+            for (int i = 0; i < wordLength; i++) // O(k)
+                counts[guess.charAt(i) - 'a'] = 0;
+        }
+    }
+
+    /**
+     * Finds the guesses that are legal in hard mode under the given constraints,
+     * see {@link WordConstraints#allowsHardModeGuess(String)}.
+     *
+     * @param constraints constraints of words of the same length as the index
+     * @param guesses     array of at least <code>CandidateSet.words(n)</code>
+     *                    longs, filled with a bitset of the legal guess ids
+     * @return <code>guesses</code>
+     */
+    public long[] allowedGuesses(WordConstraints constraints, long[] guesses) {// O(k * n/64)
+        System.arraycopy(all, 0, guesses, 0, all.length);
+        for (int i = 0; i < wordLength; i++) { // O(k)
+            int correct = constraints.correct(i);
+            if (correct != 0)
+                and(guesses, atPosition[i * LETTERS + Integer.numberOfTrailingZeros(correct)]); // O(n/64)
+        }
+        for (int letters = constraints.required(); letters != 0; letters &= letters - 1) { // O(k)
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int min = constraints.minCount((char) ('a' + letter));
+            and(guesses, atLeast[letter * wordLength + min - 1]); // O(n/64)
+        }
+        return guesses;
+    }
+
+    /**
+     * @return a new bitset with room for every guess id
+     */
+    public long[] newBitset() {
+        return new long[all.length];
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    /**
+     * @param bitset
+     * @return the number of guesses in the bitset
+     */
+    public static int count(long[] bitset) {
+        int count = 0;
+        for (long word : bitset)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    private static void and(long[] bits, long[] mask) {
+        for (int i = 0; i < bits.length; i++)
+            bits[i] &= mask[i];
+    }
+
+}
@@ -0,0 +1,19 @@
+package no.uib.inf102.wordle.model.word;
+
+/**
+ * The host of a game of Wordle, which gives feedback on each guess. A
+ * WordleAnswer has a fixed answer, while an AdversarialAnswer picks its
+ * answer as late as possible.
+ */
+public interface IWordleAnswer {
+
+    /**
+     * Gives the feedback on the guess.
+     * 
+     * @param wordGuess
+     * @return wordleWord with updated answertype for each character.
+     * @throws IllegalArgumentException if the guess is not a legal guess
+     */
+    WordleWord makeGuess(String wordGuess);
+
+}
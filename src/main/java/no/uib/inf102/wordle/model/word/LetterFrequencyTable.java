@@ -0,0 +1,167 @@
+package no.uib.inf102.wordle.model.word;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts how many words have each letter in each position. The counts are kept
+ * in one flat array with 26 counters per position, so counting and looking up
+ * a letter is a single array access without boxing.
+ * <br>
+ * </br>
+ * Words can be added and removed one at a time, so a table can follow a list
+ * of possible answers as words are eliminated instead of being rebuilt.
+ */
+public class LetterFrequencyTable {
+
+    private static final int LETTERS = 26;
+
+    private final int wordLength;
+    private final int[] counts;
+    private int size;
+
+    /**
+     * Creates an empty table.
+     * 
+     * @param wordLength length of the words that will be counted
+     */
+    public LetterFrequencyTable(int wordLength) {
+        this.wordLength = wordLength;
+        this.counts = new int[wordLength * LETTERS];
+    }
+
+    /**
+     * Creates a copy of the given table.
+     * 
+     * @param other
+     */
+    public LetterFrequencyTable(LetterFrequencyTable other) {
+        this.wordLength = other.wordLength;
+        this.counts = other.counts.clone();
+        this.size = other.size;
+    }
+
+    /**
+     * Counts the letters of the given words.
+     * 
+     * @param words      lower case words of length <code>wordLength</code>
+     * @param wordLength
+     * @return the table
+     */
+    public static LetterFrequencyTable of(List<String> words, int wordLength) {// O(n*k)
+        LetterFrequencyTable table = new LetterFrequencyTable(wordLength);
+        for (String word : words) // O(n)
+            table.add(word); // O(k)
+        return table;
+    }
+
+    /**
+     * Counts the letters of a word.
+     * 
+     * @param word lower case word of length <code>wordLength</code>
+     * @throws IllegalArgumentException if the word has the wrong length or other
+     *                                  letters than a-z
+     */
+    public void add(String word) {// O(k)
+        update(word, 1);
+    }
+
+    /**
+     * Stops counting the letters of a word that was added earlier.
+     * 
+     * @param word
+     * @throws IllegalArgumentException if the word has the wrong length or other
+     *                                  letters than a-z
+     */
+    public void remove(String word) {// O(k)
+        update(word, -1);
+    }
+
+    private void update(String word, int delta) {
+        if (word.length() != wordLength)
+            throw new IllegalArgumentException("Expected a word of length " + wordLength + " but got " + word);
+        for (int i = 0; i < wordLength; i++) {
+            int letter = word.charAt(i) - 'a';
+            if (letter < 0 || letter >= LETTERS)
+                throw new IllegalArgumentException("The word '" + word + "' can only contain the letters a-z");
+            counts[i * LETTERS + letter] += delta;
+        }
+        size += delta;
+    }
+
+    /**
+     * Makes this table a copy of the given table.
+     * 
+     * @param other a table of the same word length
+     */
+    public void setTo(LetterFrequencyTable other) {// O(k)
+        if (other.wordLength != wordLength)
+            throw new IllegalArgumentException("The tables have different word lengths");
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        size = other.size;
+    }
+
+    /**
+     * Removes every word from the table.
+     */
+    public void clear() {// O(k)
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    /**
+     * @param position
+     * @param letter
+     * @return the number of words with <code>letter</code> at
+     *         <code>position</code>, or 0 if the letter is not one of a-z
+     */
+    public int count(int position, char letter) {// O(1)
+        int index = letter - 'a';
+        if (index < 0 || index >= LETTERS)
+            return 0;
+        return counts[position * LETTERS + index];
+    }
+
+    /**
+     * Sums, for each position of <code>word</code>, the number of words with the
+     * same letter in that position.
+     * 
+     * @param word a word of length <code>wordLength</code>
+     * @return the score of the word
+     */
+    public int score(String word) {// O(k)
+        int score = 0;
+        for (int i = 0; i < wordLength; i++)
+            score += count(i, word.charAt(i));
+        return score;
+    }
+
+    /**
+     * @return the number of words counted
+     */
+    public int size() {
+        return size;
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        LetterFrequencyTable other = (LetterFrequencyTable) obj;
+        return wordLength == other.wordLength && size == other.size && Arrays.equals(counts, other.counts);
+    }
+
+}
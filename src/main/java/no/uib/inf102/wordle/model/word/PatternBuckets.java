@@ -0,0 +1,242 @@
+package no.uib.inf102.wordle.model.word;
+
+/**
+ * This class splits a set of candidate answers into buckets by the feedback
+ * code a guess would get against each of them, using the FeedbackMatrix.
+ * <br>
+ * </br>
+ * Candidates are given as an array of answer ids where only the first
+ * <code>size</code> elements are used. The bucket counts are kept in a
+ * primitive array that is reused between calls, so a PatternBuckets object
+ * must not be shared between threads.
+ */
+public class PatternBuckets {
+
+    private static volatile double[] cLogC = new double[1];
+
+    private final FeedbackMatrix matrix;
+    private final int[] counts;
+
+    public PatternBuckets(FeedbackMatrix matrix) {
+        this.matrix = matrix;
+        this.counts = new int[WordleAnswer.patternCount(matrix.wordLength())];
+    }
+
+    /**
+     * Computes the expected information, in bits, gained by guessing
+     * <code>guessId</code> when the answer is uniformly one of the candidates.
+     *
+     * @param guessId
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @return the entropy of the bucket sizes
+     */
+    public double entropy(int guessId, int[] candidates, int size) {// O(m)
+        if (size == 0)
+            return 0;
+        byte[] patterns = matrix.patterns(); // O(1)
+        if (patterns == null)
+            return wideEntropy(guessId, candidates, size); // O(m)
+        return entropy(patterns, matrix.rowOffset(guessId), candidates, size); // O(m)
+    }
+
+    /**
+     * Sums the entropy of guessing <code>guessId</code> over several sets of
+     * candidates, such as the possible answers of each board in a game with
+     * several boards. The row of feedback codes of the guess is looked up once
+     * and read for every set while it is in the cache.
+     *
+     * @param guessId
+     * @param candidates answer ids of each set
+     * @param sizes      number of candidates in each set. Sets of size 0 are
+     *                   skipped.
+     * @return the sum of the entropies
+     */
+    public double entropySum(int guessId, int[][] candidates, int[] sizes) {// O(sum of sizes)
+        byte[] patterns = matrix.patterns(); // O(1)
+        int offset = matrix.rowOffset(guessId); // O(1)
+        double sum = 0; // O(1)
+        for (int set = 0; set < sizes.length; set++) { // O(b)
+            if (sizes[set] == 0)
+                continue;
+            sum += patterns == null ? wideEntropy(guessId, candidates[set], sizes[set]) // O(m)
+                    : entropy(patterns, offset, candidates[set], sizes[set]); // O(m)
+        }
+        return sum; // O(1)
+    }
+
+    private double entropy(byte[] patterns, int offset, int[] candidates, int size) {// O(m)
+        for (int i = 0; i < size; i++) // O(m)
+            counts[patterns[offset + candidates[i]] & 0xFF]++; // O(1)
+
+        // Sum c*log(c) over the non-empty buckets, clearing each bucket the first
+        // time it is seen so the counts are all zero afterwards.
+        double[] cLogC = cLogCTable(size); // O(1) once the table is large enough
+        double sum = 0; // O(1)
+        for (int i = 0; i < size; i++) { // O(m)
+            int pattern = patterns[offset + candidates[i]] & 0xFF; // O(1)
+            sum += cLogC[counts[pattern]]; // O(1)
+            counts[pattern] = 0; // O(1)
+        }
+        return (Math.log(size) - sum / size) / Math.log(2); // O(1)
+    }
+
+    /**
+     * The same as {@link #entropy(int, int[], int)} for a matrix that stores its
+     * feedback codes as shorts.
+     */
+    private double wideEntropy(int guessId, int[] candidates, int size) {// O(m)
+        for (int i = 0; i < size; i++) // O(m)
+            counts[matrix.pattern(guessId, candidates[i])]++; // O(1)
+
+        double[] cLogC = cLogCTable(size); // O(1) once the table is large enough
+        double sum = 0; // O(1)
+        for (int i = 0; i < size; i++) { // O(m)
+            int pattern = matrix.pattern(guessId, candidates[i]); // O(1)
+            sum += cLogC[counts[pattern]]; // O(1)
+            counts[pattern] = 0; // O(1)
+        }
+        return (Math.log(size) - sum / size) / Math.log(2); // O(1)
+    }
+
+    /**
+     * Returns a table with <code>c*log(c)</code> at index <code>c</code>, for all
+     * <code>c</code> up to at least <code>max</code>.
+     */
+    private static double[] cLogCTable(int max) {
+        double[] table = cLogC;
+        if (table.length <= max) {
+            table = new double[Math.max(max + 1, 2 * table.length)];
+            for (int c = 1; c < table.length; c++)
+                table[c] = c * Math.log(c);
+            cLogC = table;
+        }
+        return table;
+    }
+
+    /**
+     * Finds the size of the largest bucket when guessing <code>guessId</code>.
+     * Stops early and returns a value greater than <code>cutoff</code> as soon as
+     * any bucket grows larger than <code>cutoff</code>.
+     *
+     * @param guessId
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @param cutoff     the largest bucket size that is still of interest
+     * @return the size of the largest bucket, or a number greater than
+     *         <code>cutoff</code> if it is larger than <code>cutoff</code>
+     */
+    public int largestBucket(int guessId, int[] candidates, int size, int cutoff) {// O(m)
+        int largest = 0; // O(1)
+        int counted = 0; // O(1)
+        for (; counted < size; counted++) { // O(m)
+            int count = ++counts[matrix.pattern(guessId, candidates[counted])]; // O(1)
+            if (count > largest) {
+                largest = count; // O(1)
+                if (largest > cutoff) {
+                    counted++;
+                    break;
+                }
+            }
+        }
+        for (int i = 0; i < counted; i++) // O(m)
+            counts[matrix.pattern(guessId, candidates[i])] = 0; // O(1)
+        return largest; // O(1)
+    }
+
+    /**
+     * Computes the sum of the squared bucket sizes when guessing
+     * <code>guessId</code>. Divided by <code>size</code>, this is the expected
+     * number of candidates left after the guess. Stops early and returns a value
+     * greater than <code>cutoff</code> as soon as the sum grows larger than
+     * <code>cutoff</code>.
+     *
+     * @param guessId
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @param cutoff     the largest sum that is still of interest
+     * @return the sum of the squared bucket sizes, or a number greater than
+     *         <code>cutoff</code> if it is larger than <code>cutoff</code>
+     */
+    public int sumOfSquares(int guessId, int[] candidates, int size, int cutoff) {// O(m)
+        int sum = 0; // O(1)
+        int counted = 0; // O(1)
+        for (; counted < size; counted++) { // O(m)
+            // A bucket growing from c to c+1 adds (c+1)^2 - c^2 = 2c+1
+            sum += 2 * counts[matrix.pattern(guessId, candidates[counted])]++ + 1; // O(1)
+            if (sum > cutoff) {
+                counted++;
+                break;
+            }
+        }
+        for (int i = 0; i < counted; i++) // O(m)
+            counts[matrix.pattern(guessId, candidates[i])] = 0; // O(1)
+        return sum; // O(1)
+    }
+
+    /**
+     * Counts how many of the candidates end up in each bucket when guessing
+     * <code>guessId</code>. The counts can be read with {@link #count(int)} until
+     * {@link #clear(int, int[], int)} is called with the same arguments.
+     *
+     * @param guessId
+     * @param candidates answer ids
+     * @param size       number of candidates
+     * @return the number of non-empty buckets
+     */
+    public int split(int guessId, int[] candidates, int size) {// O(m)
+        int buckets = 0; // O(1)
+        for (int i = 0; i < size; i++) { // O(m)
+            if (counts[matrix.pattern(guessId, candidates[i])]++ == 0) // O(1)
+                buckets++; // O(1)
+        }
+        return buckets; // O(1)
+    }
+
+    /**
+     * @param pattern feedback code
+     * @return the size of the bucket of <code>pattern</code> after the last call
+     *         to {@link #split(int, int[], int)}
+     */
+    public int count(int pattern) {
+        return counts[pattern];
+    }
+
+    /**
+     * Sets all buckets used by the last call to {@link #split(int, int[], int)}
+     * back to zero.
+     *
+     * @param guessId
+     * @param candidates answer ids
+     * @param size       number of candidates
+     */
+    public void clear(int guessId, int[] candidates, int size) {// O(m)
+        for (int i = 0; i < size; i++) // O(m)
+            counts[matrix.pattern(guessId, candidates[i])] = 0; // O(1)
+    }
+
+    /**
+     * Removes the candidates that would not give <code>pattern</code> when
+     * guessing <code>guessId</code>, keeping the order of the rest.
+     *
+     * @param matrix
+     * @param guessId
+     * @param pattern    feedback code
+     * @param candidates answer ids, filtered in place
+     * @param size       number of candidates
+     * @return the number of candidates left
+     */
+    public static int filter(FeedbackMatrix matrix, int guessId, int pattern, int[] candidates, int size) {// O(m)
+        int kept = 0; // O(1)
+        for (int i = 0; i < size; i++) { // O(m)
+            if (matrix.pattern(guessId, candidates[i]) == pattern)
+                candidates[kept++] = candidates[i]; // O(1)
+        }
+        return kept; // O(1)
+    }
+
+    public FeedbackMatrix matrix() {
+        return matrix;
+    }
+
+}
@@ -0,0 +1,306 @@
+package no.uib.inf102.wordle.model.word;
+
+import java.util.Arrays;
+
+/**
+ * Everything the feedback received so far in a game says about the answer, as
+ * a set of constraints:
+ * <ul>
+ * <li>for each position, a 26-bit mask of the letters that can be there</li>
+ * <li>for each letter, the least and the most times it can be in the
+ * answer</li>
+ * </ul>
+ * A word is possible exactly when it would have given the same feedback as
+ * every guess that was added, so these constraints replace checking the word
+ * against each guess.
+ * <br>
+ * </br>
+ * The letters that must be in the answer and the letters that can not be are
+ * also kept as 26-bit masks. Comparing them with the letter mask of a word
+ * rejects most words with two bitwise operations, before any position or
+ * count is looked at.
+ * <br>
+ * </br>
+ * The same constraints give the rules of hard mode, where every guess must
+ * use the hints received so far: CORRECT letters stay in place, and every
+ * letter found must be used at least as many times as it was found. See
+ * {@link #allowsHardModeGuess(String)}.
+ */
+public class WordConstraints {
+
+    private static final int LETTERS = 26;
+    private static final int ALL_LETTERS = (1 << LETTERS) - 1;
+
+    private final int wordLength;
+    private final int[] allowed;
+
+    /**
+     * For each position, the letter that got CORRECT there as a one bit mask, or
+     * 0 if no letter has.
+     */
+    private final int[] correct;
+    private final int[] minCount = new int[LETTERS];
+    private final int[] maxCount = new int[LETTERS];
+
+    /**
+     * Letters with a minimum count above 0.
+     */
+    private int required;
+
+    /**
+     * Letters with a maximum count of 0.
+     */
+    private int forbidden;
+
+    /**
+     * Letters whose count is limited by more than the word length, and must be
+     * counted in {@link #matches(String)}.
+     */
+    private int counted;
+
+    /**
+     * Creates constraints that every word of the given length satisfies.
+     * 
+     * @param wordLength
+     */
+    public WordConstraints(int wordLength) {
+        this.wordLength = wordLength;
+        this.allowed = new int[wordLength];
+        this.correct = new int[wordLength];
+        reset();
+    }
+
+    /**
+     * Removes every constraint.
+     */
+    public void reset() {// O(k)
+        Arrays.fill(allowed, ALL_LETTERS);
+        Arrays.fill(correct, 0);
+        Arrays.fill(minCount, 0);
+        Arrays.fill(maxCount, wordLength);
+        required = 0;
+        forbidden = 0;
+        counted = 0;
+    }
+
+    /**
+     * Adds the constraints given by the feedback of one guess.
+     * 
+     * @param guess lower case word of length <code>wordLength</code>
+     * @param code  feedback code as given by
+     *              {@link WordleAnswer#matchCode(String, String)}
+     * @throws IllegalArgumentException if the guess has the wrong length or other
+     *                                  letters than a-z
+     */
+    public void add(String guess, int code) {// O(k)
+        if (guess.length() != wordLength)
+            throw new IllegalArgumentException("Expected a guess of length " + wordLength + " but got " + guess);
+
+        int[] found = new int[LETTERS];
+        int wrong = 0;
+        for (int i = 0; i < wordLength; i++, code /= 3) {
+            int letter = letter(guess, i);
+            int bit = 1 << letter;
+            switch (code % 3) {
+                case 2 -> {
+                    allowed[i] &= bit;
+                    correct[i] = bit;
+                    found[letter]++;
+                }
+                case 1 -> {
+                    allowed[i] &= ~bit;
+                    found[letter]++;
+                }
+                default -> {
+                    allowed[i] &= ~bit;
+                    wrong |= bit;
+                }
+            }
+        }
+
+        for (int i = 0; i < wordLength; i++) {
+            int letter = letter(guess, i);
+            int bit = 1 << letter;
+            minCount[letter] = Math.max(minCount[letter], found[letter]);
+            // A WRONG copy of a letter means the answer has no more copies than were found
+            if ((wrong & bit) != 0)
+                maxCount[letter] = Math.min(maxCount[letter], found[letter]);
+
+            if (minCount[letter] > 0)
+                required |= bit;
+            if (maxCount[letter] == 0)
+                forbidden |= bit;
+            if (minCount[letter] > 1 || (maxCount[letter] > 0 && maxCount[letter] < wordLength))
+                counted |= bit;
+        }
+    }
+
+    /**
+     * Checks if the word satisfies every constraint, which is the case exactly
+     * when it would have given the same feedback as every guess added.
+     * <br>
+     * </br>
+     * The letter mask of the word is computed on every call, so this always
+     * looks at every letter. Code checking the same words many times should
+     * keep their masks and use {@link #matches(String, int)}.
+     * 
+     * @param word lower case word of length <code>wordLength</code>
+     * @return true if the word can be the answer
+     */
+    public boolean matches(String word) {// O(k)
+        return matches(word, letterMask(word));
+    }
+
+    /**
+     * Checks if the word satisfies every constraint, using a letter mask of the
+     * word computed in advance to reject most words before looking at the word.
+     * 
+     * @param word       lower case word of length <code>wordLength</code>
+     * @param letterMask the letters of the word, see {@link #letterMask(String)}
+     * @return true if the word can be the answer
+     */
+    public boolean matches(String word, int letterMask) {// O(1) for most words, O(k) otherwise
+        if (!matchesLetters(letterMask))
+            return false;
+        for (int i = 0; i < wordLength; i++) {
+            if ((allowed[i] & (1 << letter(word, i))) == 0)
+                return false;
+        }
+
+        // Only letters that must appear a certain number of times need counting
+        for (int letters = counted & letterMask; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            int count = 0;
+            for (int i = 0; i < wordLength; i++) {
+                if (word.charAt(i) - 'a' == letter)
+                    count++;
+            }
+            if (count < minCount[letter] || count > maxCount[letter])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the word is a legal guess in hard mode, that is if it keeps every
+     * CORRECT letter in its place and has every letter found so far at least as
+     * many times as it was found. Unlike {@link #matches(String)}, the word may
+     * use letters known to be WRONG and repeat a WRONG_POSITION letter in the
+     * same place.
+     * 
+     * @param word lower case word
+     * @return true if the word may be guessed in hard mode, false if it breaks a
+     *         rule or has the wrong length
+     */
+    public boolean allowsHardModeGuess(String word) {// O(k)
+        if (word.length() != wordLength)
+            return false;
+        int letterMask = 0;
+        for (int i = 0; i < wordLength; i++) {
+            int bit = 1 << letter(word, i);
+            if (correct[i] != 0 && correct[i] != bit)
+                return false;
+            letterMask |= bit;
+        }
+        if ((letterMask & required) != required)
+            return false;
+
+        // Letters found more than once must also be used that many times
+        for (int letters = required; letters != 0; letters &= letters - 1) {
+            int letter = Integer.numberOfTrailingZeros(letters);
+            if (minCount[letter] < 2)
+                continue;
+            int count = 0;
+            for (int i = 0; i < wordLength; i++) {
+                if (word.charAt(i) - 'a' == letter)
+                    count++;
+            }
+            if (count < minCount[letter])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the letter mask of a word against the letters that must and must
+     * not be in the answer. A word that fails this check can not be the answer,
+     * but a word that passes may still break a position or count constraint.
+     * 
+     * @param letterMask the letters of the word, see {@link #letterMask(String)}
+     * @return false if the word can not be the answer
+     */
+    public boolean matchesLetters(int letterMask) {// O(1)
+        return (letterMask & forbidden) == 0 && (letterMask & required) == required;
+    }
+
+    /**
+     * @param word lower case word
+     * @return a 26-bit mask with bit <code>c - 'a'</code> set for each letter
+     *         <code>c</code> in the word
+     */
+    public static int letterMask(String word) {// O(k)
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++)
+            mask |= 1 << (word.charAt(i) - 'a');
+        return mask;
+    }
+
+    /**
+     * @param position
+     * @return the letters that can be at the position, as a 26-bit mask
+     */
+    public int allowed(int position) {
+        return allowed[position];
+    }
+
+    /**
+     * @param position
+     * @return the letter that got CORRECT at the position as a 26-bit mask with
+     *         one bit set, or 0 if no letter has
+     */
+    public int correct(int position) {
+        return correct[position];
+    }
+
+    /**
+     * @param letter a-z
+     * @return the least number of times the letter is in the answer
+     */
+    public int minCount(char letter) {
+        return minCount[letter - 'a'];
+    }
+
+    /**
+     * @param letter a-z
+     * @return the most number of times the letter is in the answer
+     */
+    public int maxCount(char letter) {
+        return maxCount[letter - 'a'];
+    }
+
+    /**
+     * @return the letters that must be in the answer, as a 26-bit mask
+     */
+    public int required() {
+        return required;
+    }
+
+    /**
+     * @return the letters that can not be in the answer, as a 26-bit mask
+     */
+    public int forbidden() {
+        return forbidden;
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    private static int letter(String word, int i) {
+        int letter = word.charAt(i) - 'a';
+        if (letter < 0 || letter >= LETTERS)
+            throw new IllegalArgumentException("The word '" + word + "' can only contain the letters a-z");
+        return letter;
+    }
+
+}
@@ -1,16 +1,16 @@
 package no.uib.inf102.wordle.model.word;
 
-import java.util.HashMap;
 import java.util.Random;
 
 import no.uib.inf102.wordle.resources.GetWords;
+import no.uib.inf102.wordle.resources.LegalWordIndex;
 
 /**
  * This class represents an answer to a Wordle puzzle.
  * 
  * The answer must be one of the words in the LEGAL_WORDLE_LIST.
  */
-public class WordleAnswer {
+public class WordleAnswer implements IWordleAnswer {
 
     private final String WORD;
 
@@ -47,9 +47,9 @@ public class WordleAnswer {
      * @param random
      * @return
      */
-    private static String getRandomWordleAnswer(Random random) {
-        int randomIndex = random.nextInt(GetWords.ANSWER_WORDS_LIST.size());
-        String newWord = GetWords.ANSWER_WORDS_LIST.get(randomIndex);
+    public static String getRandomWordleAnswer(Random random) {
+        int randomIndex = random.nextInt(GetWords.answerWordsList().size());
+        String newWord = GetWords.answerWordsList().get(randomIndex);
         return newWord;
     }
 
@@ -63,6 +63,7 @@ public class WordleAnswer {
      * @param wordGuess
      * @return wordleWord with updated answertype for each character.
      */
+    @Override
     public WordleWord makeGuess(String wordGuess) {
         if (!GetWords.isLegalGuess(wordGuess))
             throw new IllegalArgumentException("The word '" + wordGuess + "' is not a legal guess");
@@ -80,38 +81,161 @@ public class WordleAnswer {
      * @return
      */
     public static WordleWord matchWord(String guess, String answer) {// O(n)
+        FeedbackMatrix matrix = FeedbackMatrix.getIfBuilt(); // O(1)
+        if (matrix != null && guess.length() == answer.length()) {
+            int guessId = matrix.guessId(guess); // O(1)
+            int answerId = matrix.answerId(answer); // O(1)
+            if (guessId >= 0 && answerId >= 0)
+                return WordleWord.fromCode(guess, matrix.pattern(guessId, answerId)); // O(n)
+        }
+        return WordleWord.fromCode(guess, matchCode(guess, answer)); // O(n)
+    }
+
+    /**
+     * Computes the feedback of <code>guess</code> against <code>answer</code> as
+     * an int, without allocating anything.
+     * <br>
+     * </br>
+     * The feedback is encoded in base 3 with one digit per letter (WRONG = 0,
+     * WRONG_POSITION = 1, CORRECT = 2), where the letter at index <code>i</code>
+     * has weight <code>3^i</code>. A word of length <code>n</code> thus gets a
+     * code in <code>0..3^n-1</code>, and all letters are CORRECT exactly when the
+     * code is <code>allCorrectCode(n)</code>.
+     * <br>
+     * </br>
+     * Instead of counting letters in an array, which the JIT does not keep off
+     * the heap, each guessed letter that is not CORRECT takes the first copy of
+     * the letter in the answer that is neither CORRECT nor taken by a guessed
+     * letter to the left. The copies still free are kept as a bit mask of answer
+     * positions, and the search is skipped for letters that are not left in the
+     * answer, which is most of them. This is O(n^2) in the worst case, but
+     * allocates nothing.
+     * 
+     * @param guess
+     * @param answer
+     * @return the encoded feedback
+     * @throws IllegalArgumentException if the words do not have the same length
+     *                                  or contain other letters than a-z
+     */
+    public static int matchCode(String guess, String answer) {// O(n^2)
         int wordLength = answer.length(); // O(1)
         if (guess.length() != wordLength) // O(1)
             throw new IllegalArgumentException(
                     "Guess and answer must have the same number of letters but guess = " + guess
                             + " and answer = " + answer); // O(1)
 
-        HashMap<Character, Integer> answerMap = new HashMap<>(); // O(1)
-        for (int i = 0; i < wordLength; i++) { // O(n)
-            answerMap.put(answer.charAt(i), answerMap.getOrDefault(answer.charAt(i), 0) + 1); // O(1)
+        int code = 0; // O(1)
+        int weight = 1; // O(1)
+        int free = 0; // O(1)
+        int remainingLetters = 0; // O(1)
+        for (int i = 0; i < wordLength; i++, weight *= 3) { // O(n)
+            char answerChar = answer.charAt(i); // O(1)
+            if (guess.charAt(i) == answerChar) {
+                code += 2 * weight; // O(1)
+            } else {
+                free |= 1 << i; // O(1)
+                remainingLetters |= 1 << letterIndex(answerChar, answer); // O(1)
+            }
         }
 
-        AnswerType[] feedback = new AnswerType[5]; // O(1)
-        for (int i = 0; i < wordLength; i++) { // O(n)
-            Character guessedChar = guess.charAt(i); // O(1)
-            Character answerChar = answer.charAt(i); // O(1)
-            if (answerChar == guessedChar) { // O(1)
-                answerMap.put(guessedChar, answerMap.get(guessedChar) - 1); // O(1)
-                feedback[i] = AnswerType.CORRECT; // O(1)
-            } else { // O(1)
-                feedback[i] = AnswerType.WRONG; // O(1)
+        weight = 1; // O(1)
+        for (int i = 0; i < wordLength; i++, weight *= 3) { // O(n)
+            char guessedChar = guess.charAt(i); // O(1)
+            if (guessedChar == answer.charAt(i)) // O(1)
+                continue;
+            if ((remainingLetters & (1 << letterIndex(guessedChar, guess))) == 0) // O(1)
+                continue;
+            for (int positions = free; positions != 0; positions &= positions - 1) { // O(n)
+                int j = Integer.numberOfTrailingZeros(positions); // O(1)
+                if (answer.charAt(j) == guessedChar) {
+                    free &= ~(1 << j); // O(1)
+                    code += weight; // O(1)
+                    break;
+                }
             }
         }
+        return code; // O(1)
+    }
 
-        for (int i = 0; i < wordLength; i++) { // O(n)
-            Character guessedChar = guess.charAt(i); // O(1)
-            Character answerChar = answer.charAt(i); // O(1)
-            if (answerChar != guessedChar && answerMap.getOrDefault(guessedChar, 0) > 0) { // O(1)
-                answerMap.put(guessedChar, answerMap.get(guessedChar) - 1); // O(1)
-                feedback[i] = AnswerType.WRONG_POSITION; // O(1)
+    /**
+     * Computes the same feedback code as {@link #matchCode(String, String)} for
+     * words packed by {@link LegalWordIndex#pack(CharSequence)}. Letters are
+     * compared as 5 bit fields of the packed words, so no characters are read
+     * and nothing is allocated.
+     * <br>
+     * </br>
+     * Each guessed letter that is not CORRECT takes the first copy of the letter
+     * in the answer that is neither CORRECT nor taken by a guessed letter to the
+     * left. The copies still free are kept as a bit mask of answer positions.
+     *
+     * @param guess      packed guess
+     * @param answer     packed answer
+     * @param wordLength the number of letters in both words
+     * @return the encoded feedback
+     */
+    public static int matchCode(long guess, long answer, int wordLength) {// O(n^2)
+        int top = 5 * (wordLength - 1); // O(1)
+        long differentLetters = guess ^ answer; // O(1)
+        int code = 0; // O(1)
+        int weight = 1; // O(1)
+        int free = 0; // O(1)
+        int remainingLetters = 0; // O(1)
+        for (int i = 0, shift = top; i < wordLength; i++, shift -= 5, weight *= 3) { // O(n)
+            if (((differentLetters >>> shift) & 31) == 0) {
+                code += 2 * weight; // O(1)
+            } else {
+                free |= 1 << i; // O(1)
+                remainingLetters |= 1 << ((answer >>> shift) & 31); // O(1)
             }
         }
-        return new WordleWord(guess, feedback); // O(1)
+
+        weight = 1; // O(1)
+        for (int i = 0, shift = top; i < wordLength; i++, shift -= 5, weight *= 3) { // O(n)
+            if (((differentLetters >>> shift) & 31) == 0) // O(1)
+                continue;
+            long guessedLetter = (guess >>> shift) & 31; // O(1)
+            if ((remainingLetters & (1 << guessedLetter)) == 0) // O(1)
+                continue;
+            for (int positions = free; positions != 0; positions &= positions - 1) { // O(n)
+                int j = Integer.numberOfTrailingZeros(positions); // O(1)
+                if (((answer >>> (top - 5 * j)) & 31) == guessedLetter) {
+                    free &= ~(1 << j); // O(1)
+                    code += weight; // O(1)
+                    break;
+                }
+            }
+        }
+        return code; // O(1)
+    }
+
+    private static int letterIndex(char c, String word) {
+        int index = c - 'a';
+        if (index < 0 || index >= 26)
+            throw new IllegalArgumentException("The word '" + word + "' can only contain the letters a-z");
+        return index;
+    }
+
+    /**
+     * Number of different feedback codes a word of the given length can get.
+     * 
+     * @param wordLength
+     * @return 3 to the power of <code>wordLength</code>
+     */
+    public static int patternCount(int wordLength) {
+        int count = 1;
+        for (int i = 0; i < wordLength; i++)
+            count *= 3;
+        return count;
+    }
+
+    /**
+     * The feedback code where every letter is CORRECT.
+     * 
+     * @param wordLength
+     * @return <code>3^wordLength - 1</code>
+     */
+    public static int allCorrectCode(int wordLength) {
+        return patternCount(wordLength) - 1;
     }
 
 }
@@ -0,0 +1,142 @@
+package no.uib.inf102.wordle.model.word;
+
+import java.util.HashSet;
+import java.util.List;
+
+import no.uib.inf102.wordle.resources.GetWords;
+
+/**
+ * An immutable pair of word lists for a game of Wordle: the words that can be
+ * guessed and the words that can be the answer. The answers are checked to be
+ * a subset of the guesses once, when the dictionary is created, so the
+ * dictionary can be shared by any number of {@link WordleWordList}s without
+ * checking or copying the lists again.
+ */
+public class WordleDictionary {
+
+    private static class Standard {
+        static final WordleDictionary DICTIONARY = new WordleDictionary(GetWords.allWordsList(),
+                GetWords.answerWordsList(), false);
+        static final CandidateKey ANSWER_KEY = answerKey(DICTIONARY.answers.size());
+    }
+
+    private final List<String> allWords;
+    private final List<String> answers;
+    private final int[] answerLetterMasks;
+    private volatile LetterFrequencyTable answerFrequencies;
+
+    /**
+     * Creates a dictionary of the given lists. The lists are copied.
+     * 
+     * @param words   the words that can be guessed
+     * @param answers the words that can be the answer
+     * @throws IllegalArgumentException if <code>answers</code> is not a subset of
+     *                                  <code>words</code>
+     */
+    public WordleDictionary(List<String> words, List<String> answers) {
+        this(List.copyOf(words), words == answers ? null : List.copyOf(answers), true);
+    }
+
+    /**
+     * @param answers the answers, or null if they are the same as the words
+     */
+    private WordleDictionary(List<String> words, List<String> answers, boolean validate) {
+        this.allWords = words;
+        this.answers = answers == null ? words : answers;
+        if (validate && this.answers != this.allWords && !new HashSet<>(allWords).containsAll(this.answers))
+            throw new IllegalArgumentException("The given answers were not a subset of the valid words.");
+        this.answerLetterMasks = new int[this.answers.size()];
+        for (int i = 0; i < answerLetterMasks.length; i++) // O(m*k)
+            answerLetterMasks[i] = WordConstraints.letterMask(this.answers.get(i)); // O(k)
+    }
+
+    /**
+     * The dictionary of the word lists in GetWords. GetWords always gives answers
+     * that are guess words, so it is not checked.
+     * 
+     * @return the shared standard dictionary
+     */
+    public static WordleDictionary standard() {
+        return Standard.DICTIONARY;
+    }
+
+    /**
+     * Finds the dictionary of the given lists. The standard dictionary is reused
+     * when the lists are the lists of GetWords.
+     * 
+     * @param words
+     * @param answers
+     * @return the dictionary
+     * @throws IllegalArgumentException if <code>answers</code> is not a subset of
+     *                                  <code>words</code>
+     */
+    public static WordleDictionary of(List<String> words, List<String> answers) {
+        if (words == GetWords.allWordsList() && answers == GetWords.answerWordsList())
+            return standard();
+        return new WordleDictionary(words, answers);
+    }
+
+    /**
+     * @return all words that can be guessed. The list can not be modified.
+     */
+    public List<String> allWords() {
+        return allWords;
+    }
+
+    /**
+     * @return the words that can be the answer. The list can not be modified.
+     */
+    public List<String> answers() {
+        return answers;
+    }
+
+    /**
+     * The letter masks of the answers, see {@link WordConstraints#letterMask(String)},
+     * computed when the dictionary is created.
+     * 
+     * @return the mask of each answer, in the order of {@link #answers()}. The
+     *         array must not be modified.
+     */
+    public int[] answerLetterMasks() {
+        return answerLetterMasks;
+    }
+
+    /**
+     * The fingerprint of all answers, by their ids in {@link FeedbackMatrix#get()}.
+     * Only the standard dictionary has answer ids.
+     * 
+     * @return the fingerprint, or null if this is not the standard dictionary
+     */
+    public CandidateKey answerKey() {
+        return this == standard() ? Standard.ANSWER_KEY : null;
+    }
+
+    private static CandidateKey answerKey(int answerCount) {
+        int[] ids = new int[answerCount];
+        for (int i = 0; i < answerCount; i++)
+            ids[i] = i;
+        return CandidateKey.of(ids, answerCount);
+    }
+
+    /**
+     * The letter counts of all answers, computed the first time they are needed.
+     * 
+     * @return the table, which must not be modified
+     */
+    public LetterFrequencyTable answerFrequencies() {
+        LetterFrequencyTable table = answerFrequencies;
+        if (table == null) {
+            table = LetterFrequencyTable.of(answers, wordLength());
+            answerFrequencies = table;
+        }
+        return table;
+    }
+
+    /**
+     * @return the length of the words, or 0 if there are none
+     */
+    public int wordLength() {
+        return allWords.isEmpty() ? 0 : allWords.get(0).length();
+    }
+
+}
@@ -46,7 +46,7 @@ public class WordleWord implements Iterable<WordleCharacter> {
      * @return true if word is legal, false if not.
      */
     public boolean isLegalWord() {
-        return GetWords.ALL_WORDS_SET.contains(getWordString().toLowerCase());
+        return GetWords.isLegalGuess(getWordString());
     }
 
     /**
@@ -128,8 +128,71 @@ public class WordleWord implements Iterable<WordleCharacter> {
      * @return true if the word adheres to the feedback
      */
     public static boolean isPossibleWord(String word, WordleWord feedback) {
-        WordleWord otherFeedback = WordleAnswer.matchWord(feedback.getWordString(), word);
-        return otherFeedback.equals(feedback);
+        return isPossibleWord(word, feedback.getWordString(), feedback.feedbackCode());
+    }
+
+    /**
+     * Check if word is legal given the feedback code <code>code</code> received
+     * when guessing <code>guess</code>.
+     * 
+     * @param word
+     * @param guess
+     * @param code  feedback code as given by
+     *              {@link WordleAnswer#matchCode(String, String)}
+     * @return true if the word adheres to the feedback
+     */
+    public static boolean isPossibleWord(String word, String guess, int code) {
+        return WordleAnswer.matchCode(guess, word) == code;
+    }
+
+    /**
+     * Encodes the answer types of this word as a feedback code, see
+     * {@link WordleAnswer#matchCode(String, String)}.
+     * 
+     * @return the feedback code of this word
+     * @throws IllegalStateException if the word contains BLANK characters
+     */
+    public int feedbackCode() {
+        int code = 0;
+        int weight = 1;
+        for (WordleCharacter wordleChar : word) {
+            switch (wordleChar.answerType) {
+                case CORRECT -> code += 2 * weight;
+                case WRONG_POSITION -> code += weight;
+                case WRONG -> {
+                }
+                default -> throw new IllegalStateException("Can not encode " + wordleChar.answerType);
+            }
+            weight *= 3;
+        }
+        return code;
+    }
+
+    /**
+     * Creates the WordleWord with the letters of <code>word</code> and the answer
+     * types of the given feedback code.
+     * 
+     * @param word
+     * @param code feedback code as given by
+     *             {@link WordleAnswer#matchCode(String, String)}
+     * @return
+     * @throws IllegalArgumentException if the code is not a feedback code of a
+     *                                  word with the length of <code>word</code>
+     */
+    public static WordleWord fromCode(String word, int code) {
+        if (code < 0 || code >= WordleAnswer.patternCount(word.length()))
+            throw new IllegalArgumentException("Illegal feedback code " + code + " for '" + word + "'");
+
+        AnswerType[] feedback = new AnswerType[word.length()];
+        for (int i = 0; i < feedback.length; i++) {
+            switch (code % 3) {
+                case 2 -> feedback[i] = AnswerType.CORRECT;
+                case 1 -> feedback[i] = AnswerType.WRONG_POSITION;
+                default -> feedback[i] = AnswerType.WRONG;
+            }
+            code /= 3;
+        }
+        return new WordleWord(word, feedback);
     }
 
     @Override
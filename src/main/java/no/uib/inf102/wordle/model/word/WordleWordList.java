@@ -3,38 +3,68 @@ package no.uib.inf102.wordle.model.word;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import no.uib.inf102.wordle.resources.GetWords;
-
 /**
  * This class describes a structure of two lists for a game of Wordle: The list
  * of words that can be used as guesses and the list of words that can be
  * possible answers.
+ * <br>
+ * </br>
+ * The lists are views of a shared, immutable WordleDictionary. The possible
+ * answers are copied the first time they are changed, so creating or resetting
+ * a WordleWordList does not copy any words.
  */
 public class WordleWordList {
 
-	/**
-	 * All words in the game. These words can be used as guesses.
-	 */
-	private List<String> allWords;
+	private final WordleDictionary dictionary;
 
 	/**
 	 * A subset of <code>allWords</code>. <br>
 	 * </br>
-	 * These words can be the answer to a wordle game.
+	 * These words can be the answer to a wordle game. This is the list of the
+	 * dictionary until the possible answers are changed.
 	 */
 	private List<String> possibleAnswers;
 
+	/**
+	 * The letter mask of each word of <code>possibleAnswers</code>, in the same
+	 * order, see {@link WordConstraints#letterMask(String)}. This is the array of
+	 * the dictionary until the possible answers are changed.
+	 */
+	private int[] possibleMasks;
+
+	/**
+	 * Fingerprint of <code>possibleAnswers</code>, or null if some possible answer
+	 * has no answer id or the dictionary is not the standard one.
+	 */
+	private CandidateKey candidateKey;
+
+	/**
+	 * The letter counts of <code>possibleAnswers</code>, created the first time
+	 * they are needed and then kept up to date as words are eliminated.
+	 */
+	private LetterFrequencyTable frequencies;
+
+	/**
+	 * What the feedback so far says about the answer.
+	 */
+	private final WordConstraints constraints;
+
+	/**
+	 * The best words found by {@link #bestword()}, shared by all lists over the
+	 * standard dictionary.
+	 */
+	private static final GuessCache BESTWORD_CACHE = new GuessCache("WordleWordList.bestword", 1 << 16);
+
 	/**
 	 * Create a WordleWordList that uses the full words and limited answers of the
 	 * GetWords class.
 	 */
 	public WordleWordList() {
-		this(GetWords.ALL_WORDS_LIST, GetWords.ANSWER_WORDS_LIST);
+		this(WordleDictionary.standard());
 	}
 
 	/**
@@ -57,12 +87,32 @@ public class WordleWordList {
 	 *                                  subset of <code>words</code>.
 	 */
 	public WordleWordList(List<String> words, List<String> answers) {
-		HashSet<String> wordsSet = new HashSet<String>(words);
-		if (!wordsSet.containsAll(answers))
-			throw new IllegalArgumentException("The given answers were not a subset of the valid words.");
+		this(WordleDictionary.of(words, answers));
+	}
 
-		this.allWords = new ArrayList<>(words);
-		this.possibleAnswers = new ArrayList<>(answers);
+	/**
+	 * Create a WordleWordList over the words of the given dictionary.
+	 * 
+	 * @param dictionary
+	 */
+	public WordleWordList(WordleDictionary dictionary) {
+		this.dictionary = dictionary;
+		this.possibleAnswers = dictionary.answers();
+		this.possibleMasks = dictionary.answerLetterMasks();
+		this.candidateKey = dictionary.answerKey();
+		this.constraints = new WordConstraints(dictionary.wordLength());
+	}
+
+	/**
+	 * Makes every answer of the dictionary possible again.
+	 */
+	public void reset() {// O(1)
+		possibleAnswers = dictionary.answers();
+		possibleMasks = dictionary.answerLetterMasks();
+		candidateKey = dictionary.answerKey();
+		constraints.reset(); // O(k)
+		if (frequencies != null)
+			frequencies.setTo(dictionary.answerFrequencies()); // O(k)
 	}
 
 	/**
@@ -71,11 +121,12 @@ public class WordleWordList {
 	 * @return all words
 	 */
 	public List<String> getAllWords() {
-		return allWords;
+		return dictionary.allWords();
 	}
 
 	/**
-	 * Returns the list of possible answers.
+	 * Returns the list of possible answers. Until the possible answers are
+	 * changed this is the unmodifiable answer list of the dictionary.
 	 * 
 	 * @return
 	 */
@@ -83,6 +134,32 @@ public class WordleWordList {
 		return possibleAnswers;
 	}
 
+	/**
+	 * The fingerprint of the possible answers, by their ids in
+	 * {@link FeedbackMatrix#get()}. Two lists over the standard dictionary with the
+	 * same possible answers have the same fingerprint.
+	 * 
+	 * @return the fingerprint, or null if the list is not over the standard
+	 *         dictionary
+	 */
+	public CandidateKey candidateKey() {
+		return candidateKey;
+	}
+
+	/**
+	 * @return the cache used by {@link #bestword()}
+	 */
+	public static GuessCache bestwordCache() {
+		return BESTWORD_CACHE;
+	}
+
+	/**
+	 * @return the dictionary the lists are views of
+	 */
+	public WordleDictionary dictionary() {
+		return dictionary;
+	}
+
 	/**
 	 * Eliminates words from the possible answers list using the given
 	 * <code>feedback</code>
@@ -90,15 +167,96 @@ public class WordleWordList {
 	 * @param feedback
 	 */
 	public void eliminateWords(WordleWord feedback) {// O(n)
+		eliminateWords(feedback.getWordString(), feedback.feedbackCode()); // O(n)
+	}
+
+	/**
+	 * Eliminates words from the possible answers list that would not have given
+	 * the feedback code <code>code</code> when <code>guess</code> was guessed.
+	 * <br>
+	 * </br>
+	 * The feedback is added to the constraints of the earlier feedback, and each
+	 * word is checked against the constraints. Most words are rejected by
+	 * comparing their letter mask, which is computed once for each answer of the
+	 * dictionary, with the letters that must and must not be in the answer,
+	 * without looking at the word or computing its feedback.
+	 * 
+	 * @param guess
+	 * @param code  feedback code as given by
+	 *              {@link WordleAnswer#matchCode(String, String)}
+	 */
+	public void eliminateWords(String guess, int code) {// O(n)
+		constraints.add(guess, code); // O(k)
+		FeedbackMatrix matrix = candidateKey != null ? FeedbackMatrix.get() : null; // O(1) once built
+
 		List<String> posslist = new ArrayList<>();
-		for (String possWord : possibleAnswers) { // O(n)
-			if (WordleWord.isPossibleWord(possWord, feedback)) { // O(k)
+		int[] possmasks = new int[possibleAnswers.size()];
+		boolean keyed = candidateKey != null;
+		long keyLow = 0;
+		long keyHigh = 0;
+		for (int i = 0; i < possibleAnswers.size(); i++) { // O(n)
+			String possWord = possibleAnswers.get(i); // O(1)
+			int mask = possibleMasks[i]; // O(1)
+			if (constraints.matches(possWord, mask)) { // O(1) for most words, O(k) otherwise
+				possmasks[posslist.size()] = mask; // O(1)
 				posslist.add(possWord); // O(1)
+				int answerId = keyed ? matrix.answerId(possWord) : -1; // O(k)
+				keyed &= answerId >= 0;
+				if (keyed) {
+					keyLow ^= CandidateKey.lowHash(answerId); // O(1)
+					keyHigh ^= CandidateKey.highHash(answerId); // O(1)
+				}
 			}
 		}
 
+		if (frequencies != null)
+			updateFrequencies(possibleAnswers, posslist); // O(n)
+
 		// Assigning 'posslist' to 'possibleAnswers' takes O(m) time.
 		possibleAnswers = posslist; // O(m)
+		possibleMasks = possmasks; // O(1)
+		candidateKey = keyed ? new CandidateKey(keyLow, keyHigh) : null;
+	}
+
+	/**
+	 * @return the constraints of the feedback given so far, which must not be
+	 *         modified
+	 */
+	public WordConstraints constraints() {
+		return constraints;
+	}
+
+	/**
+	 * Updates the letter counts after <code>before</code> was narrowed down to
+	 * <code>after</code>, by removing the eliminated words or, when fewer words
+	 * are left than were eliminated, by counting the remaining words again.
+	 */
+	private void updateFrequencies(List<String> before, List<String> after) {// O(n)
+		if (after.size() < before.size() - after.size()) {
+			frequencies.clear();
+			for (String word : after) // O(m)
+				frequencies.add(word); // O(k)
+			return;
+		}
+		int kept = 0;
+		for (String word : before) { // O(n)
+			if (kept < after.size() && after.get(kept) == word)
+				kept++;
+			else
+				frequencies.remove(word); // O(k)
+		}
+	}
+
+	/**
+	 * The number of times each letter appears in each position of the possible
+	 * answers. The table is kept up to date as words are eliminated.
+	 * 
+	 * @return the table, which must not be modified
+	 */
+	public LetterFrequencyTable letterFrequencies() {
+		if (frequencies == null)
+			frequencies = LetterFrequencyTable.of(possibleAnswers, wordLength()); // O(n)
+		return frequencies;
 	}
 
 	/**
@@ -116,7 +274,21 @@ public class WordleWordList {
 	 * @param answer
 	 */
 	public void remove(String answer) {
-		possibleAnswers.remove(answer);
+		if (possibleAnswers == dictionary.answers()) {
+			possibleAnswers = new ArrayList<>(possibleAnswers); // O(m), only once per game
+			possibleMasks = possibleMasks.clone(); // O(m), only once per game
+		}
+		int index = possibleAnswers.indexOf(answer); // O(m)
+		if (index >= 0) {
+			possibleAnswers.remove(index); // O(m)
+			System.arraycopy(possibleMasks, index + 1, possibleMasks, index, possibleAnswers.size() - index); // O(m)
+			if (frequencies != null)
+				frequencies.remove(answer);
+			if (candidateKey != null) {
+				int answerId = FeedbackMatrix.get().answerId(answer);
+				candidateKey = answerId >= 0 ? candidateKey.toggle(answerId) : null;
+			}
+		}
 
 	}
 
@@ -126,7 +298,7 @@ public class WordleWordList {
 	 * @return
 	 */
 	public int wordLength() {
-		return allWords.get(0).length();
+		return dictionary.wordLength();
 	}
 
 	/**
@@ -150,8 +322,8 @@ public class WordleWordList {
 	public List<HashMap<Character, Integer>> countCommonLetters(List<String> poss) {// O(n)
 		List<HashMap<Character, Integer>> hashMapList = new ArrayList<>(); // O(1)
 
-		// This loop iterates 5 times, which is a constant factor (O(5) = O(1)).
-		for (int i = 0; i < 5; i++) { // O(1)
+		// This loop iterates once per letter, which is a constant factor.
+		for (int i = 0; i < wordLength(); i++) { // O(1)
 			HashMap<Character, Integer> letterCount = new HashMap<>(); // O(1)
 			for (String word : poss) { // O(n)
 				char letter = word.charAt(i); // O(1)
@@ -170,34 +342,31 @@ public class WordleWordList {
 	 *
 	 * This method calculates a score for each word in the list of possible answers
 	 * by comparing the letters in the word to the common letter counts provided by
-	 * the
-	 * countCommonLetters method. The word with the highest score is considered the
+	 * {@link #letterFrequencies()}. The word with the highest score is considered the
 	 * best word.
 	 *
+	 * The best word only depends on the possible answers, so it is cached in a
+	 * GuessCache shared by all lists over the standard dictionary.
+	 *
 	 * @return The best word among the list of possible answers.
 	 */
 	public String bestword() {
+		return BESTWORD_CACHE.get(candidateKey, this::findBestword);
+	}
+
+	private String findBestword() {
 		List<String> words = possibleAnswers(); // O(1)
-		List<HashMap<Character, Integer>> hashmapList = countCommonLetters(words); // O(n)
+		LetterFrequencyTable table = letterFrequencies(); // O(1) once created
 		int highscore = 0; // O(1)
 		String bestword = ""; // O(1)
 
 		for (String word : words) { // O(N)
-			int wordPoints = 0; // O(1)
-
-			for (int i = 0; i < word.length(); i++) { // O(5) Word length is always 5
-				int charPoints = 0; // O(1)
-				HashMap<Character, Integer> currentMap = hashmapList.get(i); // O(1)
-				charPoints += currentMap.getOrDefault(word.charAt(i), 0); // O(1)
-				wordPoints += charPoints; // O(1)
-			}
+			int wordPoints = table.score(word); // O(k)
 
 			if (wordPoints > highscore) { // O(1)
 				highscore = wordPoints; // O(1)
 				bestword = word; // O(1)
 			}
-
-			wordPoints = 0; // O(1)
 		}
 
 		return bestword; // O(1)
@@ -0,0 +1,68 @@
+package no.uib.inf102.wordle.resources;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import no.uib.inf102.util.ReadFile;
+
+/**
+ * This class, when its main method is run, packs guessWords.txt and
+ * answerWords.txt into a PackedDictionary file. It is run by Maven after
+ * compiling, so that GetWords can load the packed file instead of the text
+ * files.
+ */
+public class DictionaryPacker {
+
+    /**
+     * @param args the folder with the text files, and the file to write
+     * @throws IOException              if the packed file could not be written
+     * @throws IllegalArgumentException if there are not two arguments. The
+     *                                  class runs inside the JVM of Maven, so
+     *                                  an exception fails the build where
+     *                                  System.exit would stop Maven
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2)
+            throw new IllegalArgumentException("Usage: DictionaryPacker <word list folder> <output file>");
+        Path folder = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+
+        List<String> guessWords = ReadFile.readLines(folder.resolve("guessWords.txt").toString());
+        List<String> answerWords = ReadFile.readLines(folder.resolve("answerWords.txt").toString());
+        if (guessWords == null || answerWords == null)
+            throw new IOException("Could not read the word lists in " + folder);
+
+        ByteBuffer packed = PackedDictionary.pack(allWords(guessWords, answerWords), answerWords);
+        if (output.getParent() != null)
+            Files.createDirectories(output.getParent());
+        Files.write(output, packed.array());
+    }
+
+    /**
+     * Merges the guess and answer words into one sorted list, the same way as
+     * GetWords does when reading the text files.
+     *
+     * @param guessWords
+     * @param answerWords
+     * @return all words, sorted
+     */
+    static List<String> allWords(List<String> guessWords, List<String> answerWords) {
+        Set<String> guessSet = new HashSet<>(guessWords);
+        List<String> allWords = new ArrayList<>(guessWords);
+        for (String word : new HashSet<>(answerWords)) {
+            if (!guessSet.contains(word))
+                allWords.add(word);
+        }
+        Collections.sort(allWords);
+        return allWords;
+    }
+
+}
@@ -1,88 +1,197 @@
 package no.uib.inf102.wordle.resources;
 
-import java.util.ArrayList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-
-import no.uib.inf102.util.ReadFile;
+import java.util.stream.Collectors;
 
 /**
  * This class contains the list of guess words and answer words in Wordle.
+ * <br>
+ * </br>
+ * The words are read from the classpath, next to this class, or from the
+ * folder named by the system property WORD_LIST_PROPERTY. Each list and set
+ * is kept in its own holder class, so it is only loaded the first time it is
+ * used.
+ * <br>
+ * </br>
+ * The words can have any length up to LegalWordIndex.MAX_WORD_LENGTH, as long
+ * as all words have the same length. Code that depends on the length should
+ * ask {@link #wordLength()} instead of assuming five letters.
  */
 public class GetWords {
 
-    private static final String FOLDER_PATH = "src/main/java/no/uib/inf102/wordle/resources";
-    private static final String GUESS_WORDS_PATH = FOLDER_PATH + "/guessWords.txt";
-    private static final String ANSWER_WORDS_PATH = FOLDER_PATH + "/answerWords.txt";
+    private static final String GUESS_WORDS_RESOURCE = "guessWords.txt";
+    private static final String ANSWER_WORDS_RESOURCE = "answerWords.txt";
 
-    public static final int WORD_LENGTH = 5;
+    /**
+     * Name of the PackedDictionary resource written by DictionaryPacker during the
+     * build. If it is missing, the text files are read instead.
+     */
+    private static final String PACKED_DICTIONARY = "words.bin";
 
-    // Guess words
     /**
-     * These words are words that can be guessed in a game of Wordle.
-     * All words will have a length equal to WORD_LENGTH
+     * System property naming a folder with a guessWords.txt and an
+     * answerWords.txt to use instead of the word lists on the classpath, for
+     * example to play with six letter words.
      */
-    private static final List<String> GUESS_WORDS_LIST = toList(GUESS_WORDS_PATH);
-    private static final Set<String> GUESS_WORDS_SET = toSet(GUESS_WORDS_LIST);
+    public static final String WORD_LIST_PROPERTY = "wordle.words";
+
+    private static class Packed {
+        static final PackedDictionary DICTIONARY = loadPackedDictionary();
+    }
 
     // Answer words
     /**
-     * These words are a limited subset of the guess words. 
+     * These words are a limited subset of the guess words.
      * This is to make the game a little simpler so you don't have to answer very obscure words.
-     * All words will have a length equal to WORD_LENGTH
+     * All words will have a length equal to wordLength()
      */
-    public static final List<String> ANSWER_WORDS_LIST = toList(ANSWER_WORDS_PATH);
-    public static final Set<String> ANSWER_WORDS_SET = toSet(ANSWER_WORDS_LIST);
+    private static class AnswerWords {
+        static final List<String> LIST = Packed.DICTIONARY != null ? Packed.DICTIONARY.answerWords()
+                : Collections.unmodifiableList(readResource(ANSWER_WORDS_RESOURCE));
+    }
+
+    private static class AnswerWordsSet {
+        static final Set<String> SET = toSet(AnswerWords.LIST);
+    }
 
     /**
      * These words are words that can be guessed in a game of Wordle.
-     * All words will have a length equal to WORD_LENGTH
-     * Every word in ANSWER_WORDS_LIST will be in ALL_WORDS_LIST
+     * All words will have a length equal to wordLength()
+     * Every answer word will be in this list
+     */
+    private static class AllWords {
+        static final List<String> LIST = Packed.DICTIONARY != null ? Packed.DICTIONARY.allWords() : getAllWords();
+    }
+
+    private static class AllWordsSet {
+        static final Set<String> SET = toSet(AllWords.LIST);
+    }
+
+    private static class LegalGuesses {
+        static final LegalWordIndex INDEX = new LegalWordIndex(AllWords.LIST);
+    }
+
+    private static class LegalAnswers {
+        static final LegalWordIndex INDEX = new LegalWordIndex(AnswerWords.LIST);
+    }
+
+    /**
+     * @return the words that can be the answer, in the order of answerWords.txt
+     */
+    public static List<String> answerWordsList() {
+        return AnswerWords.LIST;
+    }
+
+    /**
+     * @return the words that can be the answer
      */
-    public static final List<String> ALL_WORDS_LIST = getAllWords();
-    public static final Set<String> ALL_WORDS_SET = new HashSet<>(ALL_WORDS_LIST);
+    public static Set<String> answerWordsSet() {
+        return AnswerWordsSet.SET;
+    }
+
+    /**
+     * @return all words that can be guessed, sorted. Every answer word is
+     *         included.
+     */
+    public static List<String> allWordsList() {
+        return AllWords.LIST;
+    }
+
+    /**
+     * @return all words that can be guessed
+     */
+    public static Set<String> allWordsSet() {
+        return AllWordsSet.SET;
+    }
+
+    /**
+     * @return the length of the words, or 0 if there are none
+     */
+    public static int wordLength() {
+        return AllWords.LIST.isEmpty() ? 0 : AllWords.LIST.get(0).length();
+    }
 
     /**
      * Provides a sorted list of the words from both the guess and answer lists.
      * @return
      */
     private static List<String> getAllWords() {
-    	List<String> allWords = ReadFile.readLines(GUESS_WORDS_PATH);
-    	for(String word : ANSWER_WORDS_SET) {
-    		if(!GUESS_WORDS_SET.contains(word)) {
-    			allWords.add(word);
-    		}
-    	}
-        Collections.sort(allWords);
-        return Collections.unmodifiableList(allWords);
-    }
-
-    private static List<String> toList(String path) {
-		return Collections.unmodifiableList(ReadFile.readLines(path));
-	}
+        List<String> guessWords = readResource(GUESS_WORDS_RESOURCE);
+        return Collections.unmodifiableList(DictionaryPacker.allWords(guessWords, AnswerWords.LIST));
+    }
+
+    private static PackedDictionary loadPackedDictionary() {
+        if (wordListFolder() != null)
+            return null;
+        return PackedDictionary.loadResource(GetWords.class, PACKED_DICTIONARY);
+    }
+
+    private static Path wordListFolder() {
+        String folder = System.getProperty(WORD_LIST_PROPERTY);
+        return folder == null || folder.isEmpty() ? null : Path.of(folder);
+    }
+
+    /**
+     * Reads the lines of a word list in the WORD_LIST_PROPERTY folder if it is
+     * set, or else of a text resource next to this class.
+     *
+     * @param name
+     * @return the lines
+     * @throws UncheckedIOException if the word list is missing or could not be
+     *                              read
+     */
+    private static List<String> readResource(String name) {
+        Path folder = wordListFolder();
+        if (folder != null) {
+            try {
+                return Files.readAllLines(folder.resolve(name), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        InputStream in = GetWords.class.getResourceAsStream(name);
+        if (in == null)
+            throw new UncheckedIOException(new IOException("Missing word list " + name));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
 	private static Set<String> toSet(List<String> list) {
 		return Collections.unmodifiableSet(new HashSet<String>(list));
 	}
 
 	/**
-     * Checks if the given wordGuess is part of the set of all Wordle words.
+     * Checks if the given wordGuess is part of the set of all Wordle words,
+     * ignoring case.
      * @param wordGuess
      * @return
      */
-	public static boolean isLegalGuess(String wordGuess) {
-		return ALL_WORDS_SET.contains(wordGuess.toLowerCase());
+	public static boolean isLegalGuess(CharSequence wordGuess) {
+		return LegalGuesses.INDEX.contains(wordGuess);
 	}
 
 	/**
-     * Checks if the given wordGuess is part of the set of all Wordle words.
+     * Checks if the given wordGuess is part of the set of answer words, ignoring
+     * case.
      * @param wordGuess
      * @return
      */
-	public static boolean isLegalAnswer(String wordGuess) {
-		return ANSWER_WORDS_SET.contains(wordGuess.toLowerCase());
+	public static boolean isLegalAnswer(CharSequence wordGuess) {
+		return LegalAnswers.INDEX.contains(wordGuess);
 	}
 
 }
@@ -0,0 +1,98 @@
+package no.uib.inf102.wordle.resources;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A set of words for fast membership checks. Each word is packed into a long
+ * with 5 bits per letter, and the packed words are kept in a sorted array
+ * that is binary searched.
+ * <br>
+ * </br>
+ * Lookups accept any CharSequence, ignore case and do not allocate, so they
+ * are cheap to call on every key press or every submitted guess.
+ */
+public class LegalWordIndex {
+
+    /**
+     * The longest word that fits in a long with 5 bits per letter.
+     */
+    public static final int MAX_WORD_LENGTH = 12;
+
+    private final int wordLength;
+    private final long[] packedWords;
+
+    /**
+     * Creates an index of the given words.
+     *
+     * @param words lower case words of the same length
+     * @throws IllegalArgumentException if the words do not have the same length,
+     *                                  are longer than MAX_WORD_LENGTH or contain
+     *                                  other letters than a-z
+     */
+    public LegalWordIndex(Collection<String> words) {
+        this.wordLength = words.isEmpty() ? 0 : words.iterator().next().length();
+        if (wordLength > MAX_WORD_LENGTH)
+            throw new IllegalArgumentException("Words longer than " + MAX_WORD_LENGTH + " letters are not supported");
+
+        long[] packed = new long[words.size()];
+        int n = 0;
+        for (String word : words) {
+            if (word.length() != wordLength)
+                throw new IllegalArgumentException("All words must have length " + wordLength + " but got " + word);
+            packed[n] = pack(word);
+            if (packed[n] < 0)
+                throw new IllegalArgumentException("The word '" + word + "' can only contain the letters a-z");
+            n++;
+        }
+        Arrays.sort(packed);
+        this.packedWords = packed;
+    }
+
+    /**
+     * Checks if the given word is in the index, ignoring case.
+     *
+     * @param word
+     * @return true if the word is in the index
+     */
+    public boolean contains(CharSequence word) {// O(log n)
+        if (word == null || word.length() != wordLength)
+            return false;
+        long packed = pack(word);
+        return packed >= 0 && Arrays.binarySearch(packedWords, packed) >= 0;
+    }
+
+    public int size() {
+        return packedWords.length;
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    /**
+     * Packs the letters of the word into a long, 5 bits per letter with the first
+     * letter in the highest bits, so packed words of the same length sort like
+     * the words. Letter <code>i</code> of a word of length <code>n</code> is
+     * <code>(packed >>> 5 * (n - 1 - i)) & 31</code>, with 'a' as 0.
+     *
+     * @param word
+     * @return the packed word, or -1 if it is longer than MAX_WORD_LENGTH or
+     *         contains other letters than a-z or A-Z
+     */
+    public static long pack(CharSequence word) {
+        if (word.length() > MAX_WORD_LENGTH)
+            return -1;
+        long packed = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= 'A' && c <= 'Z')
+                c += 'a' - 'A';
+            if (c < 'a' || c > 'z')
+                return -1;
+            packed = (packed << 5) | (c - 'a');
+        }
+        return packed;
+    }
+
+}
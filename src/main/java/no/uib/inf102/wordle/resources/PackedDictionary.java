@@ -0,0 +1,179 @@
+package no.uib.inf102.wordle.resources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Wordle word lists in a packed binary format, so they can be loaded
+ * without parsing text. The file is written by DictionaryPacker during the
+ * build.
+ * <br>
+ * </br>
+ * Memory-mapping the file only makes loading faster: the records are decoded
+ * into Strings once, when the dictionary is read, because GetWords and the
+ * strategies keep the words as Strings. Whether a word is an answer word is
+ * given by the order table.
+ * <br>
+ * </br>
+ * Format (big endian):
+ *
+ * <pre>
+ * header:  int MAGIC, int VERSION, int wordLength, int wordCount, int answerCount
+ * words:   wordCount records of wordLength ASCII bytes, in sorted order
+ * order:   answerCount ints, the word index of each answer word in the order
+ *          of the answer word list
+ * </pre>
+ */
+public class PackedDictionary {
+
+    static final int MAGIC = 0x5744_4943; // "WDIC"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 5 * Integer.BYTES;
+
+    private final int wordLength;
+    private final List<String> allWords;
+    private final List<String> answerWords;
+
+    /**
+     * Reads a packed dictionary from the given buffer.
+     *
+     * @param buffer
+     * @throws IllegalArgumentException if the buffer does not hold a packed
+     *                                  dictionary of this version
+     */
+    public PackedDictionary(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IllegalArgumentException("Not a packed dictionary");
+        if (buffer.getInt(4) != VERSION)
+            throw new IllegalArgumentException("Unsupported dictionary version " + buffer.getInt(4));
+        this.wordLength = buffer.getInt(8);
+        int wordCount = buffer.getInt(12);
+        int answerCount = buffer.getInt(16);
+
+        byte[] record = new byte[wordLength];
+        List<String> words = new ArrayList<>(wordCount);
+        buffer.position(HEADER_SIZE);
+        for (int i = 0; i < wordCount; i++) {
+            buffer.get(record);
+            words.add(new String(record, StandardCharsets.US_ASCII));
+        }
+
+        List<String> answers = new ArrayList<>(answerCount);
+        for (int i = 0; i < answerCount; i++)
+            answers.add(words.get(buffer.getInt()));
+
+        this.allWords = Collections.unmodifiableList(words);
+        this.answerWords = Collections.unmodifiableList(answers);
+    }
+
+    /**
+     * Memory-maps and reads the packed dictionary in the given file.
+     *
+     * @param path
+     * @return the dictionary
+     * @throws IOException if the file could not be read
+     */
+    public static PackedDictionary load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new PackedDictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Loads a packed dictionary from the classpath. The resource is memory-mapped
+     * when it is a plain file, and read into memory when it is inside a jar.
+     *
+     * @param anchor class the resource name is relative to
+     * @param name   name of the resource
+     * @return the dictionary, or null if there is no such resource or it could
+     *         not be read
+     */
+    public static PackedDictionary loadResource(Class<?> anchor, String name) {
+        URL url = anchor.getResource(name);
+        if (url == null)
+            return null;
+        try {
+            if ("file".equals(url.getProtocol()))
+                return load(Path.of(new URI(url.toString())));
+            try (InputStream in = url.openStream()) {
+                return new PackedDictionary(ByteBuffer.wrap(in.readAllBytes()));
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Packs the given word lists.
+     *
+     * @param allWords    every word that can be guessed, sorted
+     * @param answerWords the words that can be the answer, all of which must be in
+     *                    <code>allWords</code>
+     * @return a buffer holding the packed dictionary
+     * @throws IllegalArgumentException if the words do not all have the same
+     *                                  length, are not sorted, or an answer word
+     *                                  is not in <code>allWords</code>
+     */
+    public static ByteBuffer pack(List<String> allWords, List<String> answerWords) {
+        int wordLength = allWords.isEmpty() ? 0 : allWords.get(0).length();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + allWords.size() * wordLength
+                + answerWords.size() * Integer.BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(wordLength);
+        buffer.putInt(allWords.size());
+        buffer.putInt(answerWords.size());
+
+        for (int i = 0; i < allWords.size(); i++) {
+            String word = allWords.get(i);
+            if (word.length() != wordLength)
+                throw new IllegalArgumentException("All words must have length " + wordLength + " but got " + word);
+            if (i > 0 && allWords.get(i - 1).compareTo(word) >= 0)
+                throw new IllegalArgumentException("The words must be sorted and unique, but got " + word);
+            buffer.put(word.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        int[] ids = new int[answerWords.size()];
+        for (int i = 0; i < ids.length; i++) {
+            int id = Collections.binarySearch(allWords, answerWords.get(i));
+            if (id < 0)
+                throw new IllegalArgumentException("The answer word " + answerWords.get(i) + " is not a guess word");
+            ids[i] = id;
+        }
+        for (int id : ids)
+            buffer.putInt(id);
+
+        buffer.flip();
+        return buffer;
+    }
+
+    public int wordLength() {
+        return wordLength;
+    }
+
+    /**
+     * @return all words, sorted
+     */
+    public List<String> allWords() {
+        return allWords;
+    }
+
+    /**
+     * @return the answer words, in the order of the answer word list
+     */
+    public List<String> answerWords() {
+        return answerWords;
+    }
+
+}
@@ -0,0 +1,184 @@
+package no.uib.inf102.wordle.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import no.uib.inf102.wordle.controller.AI.IStrategy;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+/**
+ * The games in progress, by session id. Each session keeps a strategy that has
+ * already seen the feedback of the session, so the next request only has to
+ * give the strategy the new feedback instead of replaying the whole game.
+ * <br>
+ * </br>
+ * At most <code>maxSessions</code> sessions are kept. When there are more, the
+ * least recently used session is closed and its strategy is returned to the
+ * pool.
+ * <br>
+ * </br>
+ * This class is thread-safe.
+ */
+public class SessionCache {
+
+    /**
+     * A game in progress. All access must synchronize on the session.
+     */
+    static class Session {
+
+        private final IStrategy strategy;
+        private final List<WordleWord> history = new ArrayList<>();
+        private String nextGuess;
+        private boolean closed;
+
+        Session(IStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        /**
+         * Gives the strategy the feedback it has not seen yet. If the history does
+         * not continue the history of this session, the game is replayed from the
+         * start.
+         * 
+         * @param feedback the feedback of every guess so far
+         * @return the next guess
+         * @throws IllegalStateException if the strategy has no guess for the
+         *                               feedback
+         */
+        String nextGuess(List<WordleWord> feedback) {
+            if (feedback.size() < history.size() || !feedback.subList(0, history.size()).equals(history))
+                restart();
+            try {
+                if (nextGuess == null)
+                    nextGuess = strategy.makeGuess(null);
+                for (int i = history.size(); i < feedback.size(); i++) {
+                    nextGuess = strategy.makeGuess(feedback.get(i));
+                    history.add(feedback.get(i));
+                }
+            } catch (RuntimeException e) {
+                restart();
+                throw e;
+            }
+            return nextGuess;
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        private void restart() {
+            strategy.reset();
+            history.clear();
+            nextGuess = null;
+        }
+
+    }
+
+    private final StrategyPool pool;
+    private final int maxSessions;
+    private final LinkedHashMap<String, Session> sessions;
+
+    /**
+     * @param pool        the strategies of new sessions are borrowed from, and
+     *                    returned to, this pool
+     * @param maxSessions the most sessions kept
+     */
+    public SessionCache(StrategyPool pool, int maxSessions) {
+        this.pool = pool;
+        this.maxSessions = maxSessions;
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Finds the next guess of the given session.
+     * 
+     * @param id       session id
+     * @param feedback the feedback of every guess made in the session so far
+     * @return the next guess
+     * @throws IllegalStateException if the strategy has no guess for the
+     *                               feedback
+     */
+    public String nextGuess(String id, List<WordleWord> feedback) {
+        while (true) {
+            Session session = getOrCreate(id);
+            synchronized (session) {
+                // The session may have been evicted while waiting for the lock
+                if (!session.isClosed())
+                    return session.nextGuess(feedback);
+            }
+        }
+    }
+
+    /**
+     * Closes the given session, if it exists.
+     * 
+     * @param id
+     * @return true if there was such a session
+     */
+    public boolean remove(String id) {
+        Session session;
+        synchronized (sessions) {
+            session = sessions.remove(id);
+        }
+        if (session == null)
+            return false;
+        close(session);
+        return true;
+    }
+
+    /**
+     * @return the number of open sessions
+     */
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    private Session getOrCreate(String id) {
+        Session session;
+        synchronized (sessions) {
+            session = sessions.get(id);
+        }
+        if (session != null)
+            return session;
+
+        // Borrowing may create a strategy, which can take long, so it is done
+        // outside the lock on the map to not hold up the other sessions
+        IStrategy strategy = pool.borrow();
+        List<Session> evicted = new ArrayList<>();
+        boolean created = false;
+        synchronized (sessions) {
+            session = sessions.get(id);
+            if (session == null) {
+                session = new Session(strategy);
+                sessions.put(id, session);
+                created = true;
+                Iterator<Map.Entry<String, Session>> eldest = sessions.entrySet().iterator();
+                while (sessions.size() > maxSessions) {
+                    evicted.add(eldest.next().getValue());
+                    eldest.remove();
+                }
+            }
+        }
+        // Another request created the session while the strategy was borrowed
+        if (!created)
+            pool.release(strategy);
+        // Closing waits for requests using the evicted sessions, so it is done
+        // outside the lock on the map
+        for (Session old : evicted)
+            close(old);
+        return session;
+    }
+
+    private void close(Session session) {
+        synchronized (session) {
+            session.closed = true;
+            pool.release(session.strategy);
+        }
+    }
+
+}
@@ -0,0 +1,294 @@
+package no.uib.inf102.wordle.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import no.uib.inf102.wordle.controller.AI.IStrategy;
+import no.uib.inf102.wordle.controller.AI.StrategyType;
+import no.uib.inf102.wordle.model.word.AnswerType;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.resources.GetWords;
+
+/**
+ * A small HTTP server that lets other programs use a strategy. It has two
+ * endpoints, both answering GET requests with a JSON object:
+ *
+ * <pre>
+ * /guess?history=crane:wwpcw,sloth:cwwwp[&amp;session=id]   {"guess":"..."}
+ * /validate?word=crane                                 {"word":"crane","legal":true}
+ * </pre>
+ *
+ * The history lists every guess made so far with its feedback, one letter per
+ * character: w (wrong), p (wrong position) or c (correct), see
+ * {@link AnswerType#character}. It is empty before the first guess.
+ * <br>
+ * </br>
+ * Strategies are borrowed from a {@link StrategyPool}. Requests without a
+ * session replay the history on a pooled strategy and return it afterwards.
+ * Requests with a session keep their strategy in a {@link SessionCache}, so each
+ * request only has to give it the newest feedback.
+ * <br>
+ * </br>
+ * Each request is handled on its own thread: a virtual thread when the JVM
+ * supports them, otherwise a thread from a cached pool.
+ */
+public class SolverService {
+
+    public static final int DEFAULT_PORT = 8102;
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+
+    private static final Logger LOG = Logger.getLogger(SolverService.class.getName());
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final StrategyPool pool;
+    private final SessionCache sessions;
+
+    /**
+     * Usage: <code>SolverService [port] [strategy]</code>.
+     * 
+     * @param args
+     * @throws IOException if the server could not be started
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        StrategyType strategy = args.length > 1 ? StrategyType.fromName(args[1]) : StrategyType.ENTROPY;
+        SolverService service = new SolverService(new InetSocketAddress(port), strategy, DEFAULT_MAX_SESSIONS);
+        service.start();
+        System.out.println("Solving with " + strategy + " on port " + service.port());
+    }
+
+    /**
+     * Creates a server. It does not answer requests until it is started.
+     * 
+     * @param address     the address to listen on, port 0 picks a free port
+     * @param strategy    the strategy making the guesses
+     * @param maxSessions the most sessions kept at once
+     * @throws IOException if the address could not be bound
+     */
+    public SolverService(InetSocketAddress address, StrategyType strategy, int maxSessions) throws IOException {
+        this(address, strategy.factory(), maxSessions);
+    }
+
+    /**
+     * Creates a server making guesses with the strategies of the given factory.
+     * 
+     * @param address     the address to listen on, port 0 picks a free port
+     * @param factory     creates the strategies making the guesses
+     * @param maxSessions the most sessions kept at once
+     * @throws IOException if the address could not be bound
+     */
+    SolverService(InetSocketAddress address, Supplier<? extends IStrategy> factory, int maxSessions)
+            throws IOException {
+        this.pool = new StrategyPool(factory, Runtime.getRuntime().availableProcessors() * 4);
+        this.sessions = new SessionCache(pool, maxSessions);
+        this.executor = newRequestExecutor();
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/guess", exchange -> handle(exchange, this::guess));
+        server.createContext("/validate", exchange -> handle(exchange, this::validate));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting at most <code>delaySeconds</code> for requests in
+     * progress.
+     * 
+     * @param delaySeconds
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    StrategyPool pool() {
+        return pool;
+    }
+
+    SessionCache sessions() {
+        return sessions;
+    }
+
+    private String guess(Map<String, String> query) {
+        List<WordleWord> history = parseHistory(query.getOrDefault("history", ""));
+        String session = query.get("session");
+        String guess;
+        if (session != null) {
+            guess = sessions.nextGuess(session, history);
+        } else {
+            IStrategy strategy = pool.borrow();
+            try {
+                guess = strategy.makeGuess(null);
+                for (WordleWord feedback : history)
+                    guess = strategy.makeGuess(feedback);
+            } finally {
+                pool.release(strategy);
+            }
+        }
+        return "{\"guess\":\"" + guess + "\"}";
+    }
+
+    private String validate(Map<String, String> query) {
+        String word = query.get("word");
+        if (word == null)
+            throw new IllegalArgumentException("Missing parameter 'word'");
+        boolean legal = GetWords.isLegalGuess(word);
+        return "{\"word\":\"" + (legal ? word.toLowerCase() : escape(word)) + "\",\"legal\":" + legal + "}";
+    }
+
+    /**
+     * Parses a history of the form <code>guess:feedback,guess:feedback</code>.
+     * 
+     * @param history
+     * @return the feedback of each guess
+     * @throws IllegalArgumentException if the history is malformed or has a guess
+     *                                  that is not a legal word
+     */
+    static List<WordleWord> parseHistory(String history) {
+        List<WordleWord> words = new ArrayList<>();
+        if (history.isBlank())
+            return words;
+        for (String entry : history.split(",")) {
+            int colon = entry.indexOf(':');
+            if (colon < 0)
+                throw new IllegalArgumentException("Expected guess:feedback but got '" + entry + "'");
+            String guess = entry.substring(0, colon).trim().toLowerCase();
+            String feedback = entry.substring(colon + 1).trim().toLowerCase();
+            if (!GetWords.isLegalGuess(guess))
+                throw new IllegalArgumentException("The word '" + guess + "' is not a legal guess");
+            if (feedback.length() != guess.length())
+                throw new IllegalArgumentException("The feedback '" + feedback + "' must have one letter per letter of the guess");
+
+            AnswerType[] types = new AnswerType[feedback.length()];
+            for (int i = 0; i < types.length; i++)
+                types[i] = parseAnswerType(feedback.charAt(i));
+            words.add(new WordleWord(guess, types));
+        }
+        return words;
+    }
+
+    private static AnswerType parseAnswerType(char c) {
+        for (AnswerType type : AnswerType.values()) {
+            if (type != AnswerType.BLANK && type.character == c)
+                return type;
+        }
+        throw new IllegalArgumentException("Unknown feedback letter '" + c + "'");
+    }
+
+    private interface Endpoint {
+        String respond(Map<String, String> query);
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, error("Only GET is supported"));
+                return;
+            }
+            String response;
+            try {
+                response = endpoint.respond(parseQuery(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error(e.getMessage()));
+                return;
+            } catch (IllegalStateException e) {
+                // The strategy has no possible answers left for the feedback
+                send(exchange, 422, error(e.getMessage()));
+                return;
+            } catch (RuntimeException e) {
+                // A bug, so the client gets an answer instead of a closed connection,
+                // without the details of the exception
+                LOG.log(Level.SEVERE, "Request " + exchange.getRequestURI() + " failed", e);
+                send(exchange, 500, error("Internal error"));
+                return;
+            }
+            send(exchange, 200, response);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null)
+            return query;
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + escape(String.valueOf(message)) + "\"}";
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\')
+                escaped.append('\\').append(c);
+            else if (c < 0x20)
+                escaped.append(String.format("\\u%04x", (int) c));
+            else
+                escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Creates an executor running each task on a new virtual thread if the JVM
+     * has them (Java 21 and later), and otherwise a cached pool of daemon
+     * threads.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            ThreadFactory daemons = task -> {
+                Thread thread = new Thread(task, "wordle-solver");
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(daemons);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package no.uib.inf102.wordle.service;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import no.uib.inf102.wordle.controller.AI.IStrategy;
+
+/**
+ * A pool of strategy instances, so that requests can reuse strategies instead
+ * of creating new ones. Strategies are reset when they are returned to the
+ * pool.
+ * <br>
+ * </br>
+ * This class is thread-safe.
+ */
+public class StrategyPool {
+
+    private final Supplier<? extends IStrategy> factory;
+    private final int maxIdle;
+    private final Deque<IStrategy> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger created = new AtomicInteger();
+
+    /**
+     * @param factory creates new strategies when the pool is empty
+     * @param maxIdle the most strategies kept in the pool, the rest are dropped
+     *                when they are returned
+     */
+    public StrategyPool(Supplier<? extends IStrategy> factory, int maxIdle) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Takes a strategy from the pool, or creates one if the pool is empty. The
+     * strategy is ready for a new game.
+     * 
+     * @return the strategy
+     */
+    public IStrategy borrow() {
+        IStrategy strategy = idle.pollFirst();
+        if (strategy == null) {
+            created.incrementAndGet();
+            return factory.get();
+        }
+        idleCount.decrementAndGet();
+        return strategy;
+    }
+
+    /**
+     * Resets the strategy and returns it to the pool. The strategy must not be
+     * used by the caller afterwards.
+     * 
+     * @param strategy a strategy created by this pool
+     */
+    public void release(IStrategy strategy) {
+        strategy.reset();
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        idle.offerFirst(strategy);
+    }
+
+    /**
+     * @return the number of strategies created by the pool so far
+     */
+    public int created() {
+        return created.get();
+    }
+
+    /**
+     * @return the number of strategies waiting in the pool
+     */
+    public int idle() {
+        return idleCount.get();
+    }
+
+}
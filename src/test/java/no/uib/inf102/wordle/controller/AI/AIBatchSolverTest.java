@@ -0,0 +1,59 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+
+public class AIBatchSolverTest {
+
+    @Test
+    public void writesOneLinePerGame() throws IOException {
+        AIBatchSolver solver = new AIBatchSolver(new FrequencyStrategy());
+        StringWriter out = new StringWriter();
+        long games = solver.solveAll(new BufferedReader(new StringReader("cloud\n\nnotaword\nABIDE\n14212\n")), out);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(3, games);
+        assertEquals(3, lines.length);
+
+        String seeded = WordleAnswer.getRandomWordleAnswer(new Random(14212));
+        String[] answers = { "cloud", "abide", seeded };
+        for (int i = 0; i < lines.length; i++) {
+            String[] fields = lines[i].split("\t");
+            assertEquals(4, fields.length);
+            assertEquals(answers[i], fields[0]);
+            String[] guesses = fields[3].split(",");
+            assertEquals(Integer.parseInt(fields[1]), guesses.length);
+            assertEquals(answers[i], guesses[guesses.length - 1]);
+            assertTrue(Long.parseLong(fields[2]) > 0);
+        }
+    }
+
+    @Test
+    public void parsesWordsAndSeeds() {
+        assertEquals("cloud", AIBatchSolver.parseAnswer("cloud"));
+        assertEquals(WordleAnswer.getRandomWordleAnswer(new Random(7)), AIBatchSolver.parseAnswer("7"));
+        assertNull(AIBatchSolver.parseAnswer("rocks"));
+        assertNull(AIBatchSolver.parseAnswer("12ab"));
+    }
+
+    @Test
+    public void strategiesByName() {
+        assertEquals(StrategyType.ENTROPY, StrategyType.fromName("entropy"));
+        assertEquals(StrategyType.MYAI, StrategyType.fromName("MyAiStrategy"));
+        assertTrue(StrategyType.FREQUENCY.create() instanceof FrequencyStrategy);
+        assertThrows(IllegalArgumentException.class, () -> StrategyType.fromName("oracle"));
+    }
+
+}
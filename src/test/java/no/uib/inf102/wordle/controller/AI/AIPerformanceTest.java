@@ -0,0 +1,135 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.AdversarialAnswer;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.resources.GetWords;
+
+public class AIPerformanceTest {
+
+	@Test
+	public void parallelRunMatchesSequentialRun() {
+		List<WordleAnswer> answers = AIPerformance.seededAnswers().subList(0, 200);
+		AIStatistics sequential = AIPerformance.runWordleGames(new FrequencyStrategy(), answers);
+		AIStatistics parallel = AIPerformance.runWordleGamesParallel(FrequencyStrategy::new, answers);
+
+		assertEquals(sequential.getStrategyName(), parallel.getStrategyName());
+		assertEquals(sequential.getNumGames(), parallel.getNumGames());
+		assertEquals(sequential.getTotalGuesses(), parallel.getTotalGuesses());
+		assertEquals(sequential.getWins(), parallel.getWins());
+		assertEquals(sequential.getMaxGuesses(), parallel.getMaxGuesses());
+		assertEquals(sequential.getFailures(), parallel.getFailures());
+		assertEquals(sequential.getDistribution(), parallel.getDistribution());
+	}
+
+	@Test
+	public void mergeAddsUpGames() {
+		AIStatistics first = new AIStatistics("test");
+		first.addGame(3);
+		first.addGame(7);
+		AIStatistics second = new AIStatistics("test");
+		second.addGame(3);
+		second.failed();
+
+		first.merge(second);
+		assertEquals(4, first.getNumGames());
+		assertEquals(13, first.getTotalGuesses());
+		assertEquals(2, first.getWins());
+		assertEquals(7, first.getMaxGuesses());
+		assertEquals(1, first.getFailures());
+		assertEquals(2, first.getDistribution().get(3));
+	}
+
+	@Test
+	public void countsAllocationsOnPoolThreads() {
+		if (!AllocationCounter.isSupported())
+			return;
+		AllocationCounter.Snapshot before = AllocationCounter.snapshot();
+		long[][] arrays = ForkJoinPool.commonPool()
+				.submit(() -> new long[16][1 << 16]).join();
+		assertTrue(AllocationCounter.allocatedSince(before) >= 16L * 8 * (1 << 16), "Missed " + arrays.length);
+	}
+
+	@Test
+	public void recordsLatencyOfEveryGuess() throws IOException {
+		List<WordleAnswer> answers = AIPerformance.seededAnswers().subList(0, 50);
+		AIStatistics stats = AIPerformance.runWordleGamesParallel(FrequencyStrategy::new, answers);
+
+		assertEquals(stats.getTotalGuesses(), stats.getGuessLatency().getCount());
+		assertEquals(stats.getNumGames(), stats.getGuessLatency(0).getCount());
+		long perGuess = 0;
+		for (int i = 0; i < stats.getGuessLatencyCount(); i++)
+			perGuess += stats.getGuessLatency(i).getCount();
+		assertEquals(stats.getTotalGuesses(), perGuess);
+		if (AllocationCounter.isSupported())
+			assertTrue(stats.getAllocatedBytesPerGame() > 0);
+
+		AIStatistics snapshot = stats.snapshot();
+		stats.merge(snapshot);
+		assertEquals(2 * snapshot.getGuessLatency().getCount(), stats.getGuessLatency().getCount());
+
+		StringBuilder csv = new StringBuilder();
+		AIStatistics.writeCsv(List.of(snapshot), csv);
+		String[] lines = csv.toString().split("\n");
+		assertEquals(2 + snapshot.getGuessLatencyCount(), lines.length);
+		assertTrue(lines[1].startsWith("FrequencyStrategy,all," + snapshot.getTotalGuesses() + ","));
+
+		StringBuilder json = new StringBuilder();
+		AIStatistics.writeJson(List.of(snapshot), json);
+		assertTrue(json.toString().contains("\"totalGuesses\":" + snapshot.getTotalGuesses()));
+	}
+
+	@Test
+	public void allAnswersPlaysEveryAnswerOnce() {
+		AIStatistics all = AIPerformance.runAllAnswers(FrequencyStrategy::new);
+		AIStatistics sequential = AIPerformance.runWordleGames(new FrequencyStrategy(), AIPerformance.allAnswers());
+
+		assertEquals(GetWords.answerWordsList().size(), all.getNumGames());
+		assertEquals("FrequencyStrategy", all.getStrategyName());
+		assertEquals(sequential.getTotalGuesses(), all.getTotalGuesses());
+		assertEquals(sequential.getDistribution(), all.getDistribution());
+	}
+
+	@Test
+	public void sharedOpeningGivesSameGames() {
+		List<WordleAnswer> answers = AIPerformance.allAnswers().subList(0, 100);
+		int[] own = AIPerformance.guessCounts(EntropyStrategy::new, answers);
+		int[] shared = AIPerformance.guessCounts(FixedOpeningStrategy.sharingOpening(EntropyStrategy::new), answers);
+		assertArrayEquals(own, shared);
+
+		Supplier<? extends IStrategy> random = RandomStrategy::new;
+		assertSame(random, FixedOpeningStrategy.sharingOpening(random));
+	}
+
+	@Test
+	public void strategiesBeatAnAdversarialHost() {
+		for (StrategyType type : new StrategyType[] { StrategyType.FREQUENCY, StrategyType.ENTROPY,
+				StrategyType.MINIMAX }) {
+			List<String> guesses = new ArrayList<>();
+			int count = AIPerformance.runWordleGame(type.create(), new AdversarialAnswer(), guesses);
+			assertEquals(guesses.size(), count);
+			assertTrue(count <= 6, type + " needed " + guesses);
+		}
+	}
+
+	@Test
+	public void parsesStrategyNames() {
+		assertEquals(List.of(StrategyType.MINIMAX, StrategyType.ROLLOUT),
+				AIPerformance.parseStrategies("minimax,RolloutStrategy"));
+		assertThrows(IllegalArgumentException.class, () -> AIPerformance.parseStrategies("entropy,nope"));
+	}
+
+}
@@ -0,0 +1,125 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+import no.uib.inf102.wordle.resources.GetWords;
+
+public class DecisionTreeStrategyTest {
+
+	private static ByteBuffer treeBuffer;
+
+	@BeforeAll
+	static void buildTree() {
+		treeBuffer = DecisionTreeBuilder.build(FeedbackMatrix.get());
+	}
+
+	@Test
+	public void solvesEveryAnswer() {
+		DecisionTreeStrategy ai = new DecisionTreeStrategy(new DecisionTree(treeBuffer.duplicate()));
+		for (String answer : GetWords.answerWordsList()) {
+			ai.reset();
+			int guesses = AIPerformance.runWordleGame(ai, new WordleAnswer(answer));
+			assertTrue(guesses <= 6, "Used " + guesses + " guesses on " + answer);
+		}
+	}
+
+	@Test
+	public void writtenTreeCanBeMemoryMapped() throws IOException {
+		Path file = Files.createTempFile("decisionTree", ".bin");
+		try {
+			Files.write(file, treeBuffer.array());
+			DecisionTree tree = DecisionTree.load(file);
+			DecisionTree original = new DecisionTree(treeBuffer.duplicate());
+			assertEquals(original.nodeCount(), tree.nodeCount());
+			assertEquals(original.guessId(original.root()), tree.guessId(tree.root()));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void continuesWhenLeavingTheTree() {
+		DecisionTreeStrategy ai = new DecisionTreeStrategy(new DecisionTree(treeBuffer.duplicate()));
+		WordleAnswer answer = new WordleAnswer("cloud");
+		String opening = ai.makeGuess(null);
+		// Answer with feedback on another word than the one the tree suggested
+		String other = opening.equals("crane") ? "slate" : "crane";
+		WordleWord feedback = answer.makeGuess(other);
+		int guesses = 1;
+		while (!feedback.allMatch()) {
+			feedback = answer.makeGuess(ai.makeGuess(feedback));
+			guesses++;
+			assertTrue(guesses <= 6, "Too many guesses after leaving the tree");
+		}
+	}
+
+	@Test
+	public void followsFeedbackCodesOfLongWords() {
+		// With 10 letters, codes with a CORRECT last letter are at least 2 * 3^9,
+		// which does not fit in a signed short
+		Random random = new Random(10);
+		List<String> words = new ArrayList<>();
+		while (words.size() < 200) {
+			StringBuilder word = new StringBuilder();
+			for (int i = 0; i < 10; i++)
+				word.append((char) ('a' + random.nextInt(4)));
+			if (!words.contains(word.toString()))
+				words.add(word.toString());
+		}
+		FeedbackMatrix matrix = new FeedbackMatrix(words, words);
+		DecisionTree tree = new DecisionTree(DecisionTreeBuilder.build(matrix));
+
+		int allCorrect = WordleAnswer.allCorrectCode(10);
+		for (int answer = 0; answer < matrix.answerCount(); answer++) {
+			int node = tree.root();
+			int pattern;
+			while ((pattern = matrix.pattern(tree.guessId(node), answer)) != allCorrect) {
+				node = tree.child(node, pattern);
+				assertTrue(node != DecisionTree.NO_NODE, "Lost " + matrix.answer(answer) + " at code " + pattern);
+			}
+		}
+	}
+
+	@Test
+	public void rejectsTreeOfOtherWordsOfTheSameSizes() {
+		List<String> words = List.of("crane", "slate", "cloud", "rocks");
+		List<String> others = List.of("crane", "slate", "cloud", "rocky");
+		DecisionTree tree = new DecisionTree(DecisionTreeBuilder.build(new FeedbackMatrix(words, words)));
+		assertTrue(tree.isBuiltFrom(new FeedbackMatrix(words, words)));
+		assertFalse(tree.isBuiltFrom(new FeedbackMatrix(others, others)));
+		assertFalse(tree.isBuiltFrom(new FeedbackMatrix(words, words.subList(0, 3))));
+	}
+
+	@Test
+	public void treePathDoesNotDependOnTheWorkingFolder() {
+		String old = System.getProperty(DecisionTreeStrategy.TREE_PATH_PROPERTY);
+		try {
+			System.clearProperty(DecisionTreeStrategy.TREE_PATH_PROPERTY);
+			assertTrue(DecisionTreeStrategy.treePath().isAbsolute());
+			System.setProperty(DecisionTreeStrategy.TREE_PATH_PROPERTY, "trees/tree.bin");
+			assertEquals(Path.of("trees/tree.bin").toAbsolutePath(), DecisionTreeStrategy.treePath());
+		} finally {
+			if (old == null)
+				System.clearProperty(DecisionTreeStrategy.TREE_PATH_PROPERTY);
+			else
+				System.setProperty(DecisionTreeStrategy.TREE_PATH_PROPERTY, old);
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.resources.GetWords;
+
+public class EntropyStrategyTest {
+
+	@Test
+	public void solvesWithinSixGuesses() {
+		EntropyStrategy ai = new EntropyStrategy();
+		for (String answer : new String[] { "cloud", "abide", "poppy", "sunny", "berry", "catch" }) {
+			ai.reset();
+			int guesses = AIPerformance.runWordleGame(ai, new WordleAnswer(answer));
+			assertTrue(guesses <= 6, "Used " + guesses + " guesses on " + answer);
+		}
+	}
+
+	@Test
+	public void openingGuessIsLegalAndRepeatable() {
+		String first = new EntropyStrategy().makeGuess(null);
+		assertTrue(GetWords.isLegalGuess(first), "You must guess a word from the dictionary.");
+		assertEquals(first, new EntropyStrategy().makeGuess(null));
+	}
+
+}
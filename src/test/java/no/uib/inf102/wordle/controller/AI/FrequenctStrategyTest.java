@@ -29,7 +29,7 @@ public class FrequenctStrategyTest {
 
 	public int countGreen(String guess) {
 		int count=0;
-		for(String word : GetWords.ALL_WORDS_LIST) {
+		for(String word : GetWords.allWordsList()) {
 			for(int i=0; i<guess.length(); i++) {
 				if(word.charAt(i)==guess.charAt(i))
 					count++;
@@ -58,7 +58,7 @@ public class FrequenctStrategyTest {
 
 	public int countGreen(WordleWord feedback, String guess) {
 		int count=0;
-		for(String word : GetWords.ALL_WORDS_LIST) {
+		for(String word : GetWords.allWordsList()) {
 			if(WordleWord.isPossibleWord(word, feedback)) {
 				for(int i=0; i<guess.length(); i++) {
 					if(word.charAt(i)==guess.charAt(i))
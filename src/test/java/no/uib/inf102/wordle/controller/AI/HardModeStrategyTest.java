@@ -0,0 +1,35 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.WordConstraints;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.resources.GetWords;
+
+public class HardModeStrategyTest {
+
+	@Test
+	public void everyGuessUsesTheHints() {
+		HardModeStrategy ai = new HardModeStrategy();
+		for (String answer : new String[] { "cloud", "abide", "poker", "rover", "berry", "catch", "waver" }) {
+			ai.reset();
+			List<String> guesses = new ArrayList<>();
+			int count = AIPerformance.runWordleGame(ai, new WordleAnswer(answer), guesses);
+			assertTrue(count > 0 && count <= AIPerformance.MAX_N_GUESSES, "Failed on " + answer);
+			assertEquals(answer, guesses.get(guesses.size() - 1));
+
+			WordConstraints constraints = new WordConstraints(GetWords.wordLength());
+			for (String guess : guesses) {
+				assertTrue(constraints.allowsHardModeGuess(guess), guess + " breaks hard mode in " + guesses);
+				constraints.add(guess, WordleAnswer.matchCode(guess, answer));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,66 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsCoverEveryValue() {
+        long previous = -1;
+        for (int bucket = 0; bucket <= LatencyHistogram.bucket(Long.MAX_VALUE); bucket++) {
+            long highest = LatencyHistogram.highestValue(bucket);
+            assertEquals(bucket, LatencyHistogram.bucket(previous + 1));
+            assertEquals(bucket, LatencyHistogram.bucket(highest));
+            assertTrue(highest > previous);
+            previous = highest;
+        }
+        assertEquals(Long.MAX_VALUE, previous);
+    }
+
+    @Test
+    public void percentilesWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++)
+            histogram.record(nanos * 1000);
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(1000, histogram.getMin());
+        assertEquals(100_000_000, histogram.getMax());
+        assertEquals(50_000_500, histogram.getMean(), 1e-6);
+        assertEquals(50_000_000, histogram.valueAtPercentile(50), 50_000_000 * 0.035);
+        assertEquals(99_000_000, histogram.valueAtPercentile(99), 99_000_000 * 0.035);
+        assertEquals(99_900_000, histogram.valueAtPercentile(99.9), 99_900_000 * 0.035);
+        assertEquals(100_000_000, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    public void mergeEqualsRecordingInOne() {
+        Random random = new Random(102);
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            long nanos = (long) Math.exp(random.nextDouble() * 25);
+            all.record(nanos);
+            (i % 3 == 0 ? first : second).record(nanos);
+        }
+        LatencyHistogram merged = new LatencyHistogram(first);
+        merged.merge(second);
+        assertEquals(all, merged);
+        assertEquals(all.valueAtPercentile(99.9), merged.valueAtPercentile(99.9));
+    }
+
+    @Test
+    public void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.valueAtPercentile(99));
+        assertEquals(0, histogram.getMin());
+        assertTrue(Double.isNaN(histogram.getMean()));
+    }
+
+}
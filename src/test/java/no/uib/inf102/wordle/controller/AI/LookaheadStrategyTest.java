@@ -0,0 +1,66 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.resources.GetWords;
+
+public class LookaheadStrategyTest {
+
+	@Test
+	public void solvesWithinSixGuesses() {
+		LookaheadStrategy ai = new LookaheadStrategy();
+		for (String answer : new String[] { "cloud", "abide", "poker", "rover", "berry", "catch", "waver" }) {
+			ai.reset();
+			List<String> guesses = new ArrayList<>();
+			int count = AIPerformance.runWordleGame(ai, new WordleAnswer(answer), guesses);
+			assertTrue(count > 0 && count <= AIPerformance.MAX_N_GUESSES, "Failed on " + answer);
+			assertEquals(answer, guesses.get(guesses.size() - 1));
+		}
+	}
+
+	@Test
+	public void sameGuessesEveryGame() {
+		List<String> first = new ArrayList<>();
+		List<String> second = new ArrayList<>();
+		AIPerformance.runWordleGame(StrategyType.LOOKAHEAD.create(), new WordleAnswer("waver"), first);
+		AIPerformance.runWordleGame(StrategyType.LOOKAHEAD.create(), new WordleAnswer("waver"), second);
+		assertEquals(first, second);
+	}
+
+	@Test
+	public void openingIsOnlyKeptWhenTheSearchFinished() {
+		LookaheadStrategy ai = new LookaheadStrategy(LookaheadStrategy.DEFAULT_TOP_K, 0);
+		assertFalse(ai.hasFixedOpening());
+		assertTrue(StrategyType.LOOKAHEAD.create().hasFixedOpening());
+
+		// The search times out at once, so the opening is not cached or kept
+		ai.makeGuess(null);
+		ai.reset();
+		String unbounded = new LookaheadStrategy(LookaheadStrategy.DEFAULT_TOP_K, LookaheadStrategy.NO_BUDGET).makeGuess(null);
+		ai.reset();
+		assertEquals(unbounded, ai.makeGuess(null));
+	}
+
+	@Test
+	public void noBudgetStillGivesALegalGuess() {
+		LookaheadStrategy ai = new LookaheadStrategy(3, 0);
+		String guess = ai.makeGuess(null);
+		assertTrue(GetWords.isLegalGuess(guess), guess);
+	}
+
+	@Test
+	public void rejectsBadArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new LookaheadStrategy(0, 100));
+		assertThrows(IllegalArgumentException.class, () -> new LookaheadStrategy(4, -1));
+	}
+
+}
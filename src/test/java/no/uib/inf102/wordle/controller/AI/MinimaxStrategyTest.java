@@ -0,0 +1,44 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.FeedbackMatrix;
+import no.uib.inf102.wordle.model.word.PatternBuckets;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+
+public class MinimaxStrategyTest {
+
+	@Test
+	public void solvesWithinSixGuesses() {
+		MinimaxStrategy ai = new MinimaxStrategy();
+		for (String answer : new String[] { "cloud", "abide", "poker", "rover", "berry", "catch" }) {
+			ai.reset();
+			int guesses = AIPerformance.runWordleGame(ai, new WordleAnswer(answer));
+			assertTrue(guesses <= 6, "Used " + guesses + " guesses on " + answer);
+		}
+	}
+
+	@Test
+	public void prunedSearchFindsBestGuess() {
+		FeedbackMatrix matrix = FeedbackMatrix.get();
+		PatternBuckets buckets = new PatternBuckets(matrix);
+		Random random = new Random(102);
+		for (int size : new int[] { 3, 20, 150 }) {
+			int[] candidates = random.ints(0, matrix.answerCount()).distinct().limit(size).sorted().toArray();
+
+			int best = Integer.MAX_VALUE;
+			for (int guessId = 0; guessId < matrix.guessCount(); guessId++)
+				best = Math.min(best, buckets.largestBucket(guessId, candidates, size, Integer.MAX_VALUE));
+
+			int guessId = MinimaxStrategy.bestGuess(matrix, candidates, size);
+			assertEquals(best, buckets.largestBucket(guessId, candidates, size, Integer.MAX_VALUE));
+			assertEquals(guessId, MinimaxStrategy.bestGuess(matrix, candidates, size));
+		}
+	}
+
+}
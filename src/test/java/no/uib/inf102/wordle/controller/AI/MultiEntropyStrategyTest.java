@@ -0,0 +1,34 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.MultiWordleModel;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+
+public class MultiEntropyStrategyTest {
+
+	@Test
+	public void solvesEveryBoardInTime() {
+		for (int boards : new int[] { 4, 8, 16 }) {
+			AIStatistics stats = AIPerformance.runMultiWordleGames(() -> new MultiEntropyStrategy(boards), boards, 10);
+			assertEquals(10, stats.getNumGames());
+			assertEquals(0, stats.getFailures(), boards + " boards");
+			assertTrue(stats.getMaxGuesses() <= MultiWordleModel.defaultMaxGuesses(boards));
+		}
+	}
+
+	@Test
+	public void sameAnswerOnTwoBoards() {
+		MultiEntropyStrategy ai = new MultiEntropyStrategy(3);
+		List<WordleAnswer> answers = List.of(new WordleAnswer("cloud"), new WordleAnswer("cloud"),
+				new WordleAnswer("poker"));
+		int guesses = AIPerformance.runMultiWordleGame(ai, answers);
+		assertTrue(guesses <= MultiWordleModel.defaultMaxGuesses(3));
+	}
+
+}
@@ -0,0 +1,44 @@
+package no.uib.inf102.wordle.controller.AI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+
+public class RolloutStrategyTest {
+
+	@Test
+	public void solvesWithinSixGuesses() {
+		RolloutStrategy ai = new RolloutStrategy();
+		for (String answer : new String[] { "cloud", "abide", "poker", "rover", "berry", "catch", "waver" }) {
+			ai.reset();
+			List<String> guesses = new ArrayList<>();
+			int count = AIPerformance.runWordleGame(ai, new WordleAnswer(answer), guesses);
+			assertTrue(count > 0 && count <= AIPerformance.MAX_N_GUESSES, "Failed on " + answer);
+			assertEquals(answer, guesses.get(guesses.size() - 1));
+		}
+	}
+
+	@Test
+	public void sameSeedSameGuesses() {
+		// Not the default settings, so the guesses are not cached
+		List<String> first = new ArrayList<>();
+		List<String> second = new ArrayList<>();
+		AIPerformance.runWordleGame(new RolloutStrategy(4, 100, 7), new WordleAnswer("waver"), first);
+		AIPerformance.runWordleGame(new RolloutStrategy(4, 100, 7), new WordleAnswer("waver"), second);
+		assertEquals(first, second);
+	}
+
+	@Test
+	public void rejectsBadArguments() {
+		assertThrows(IllegalArgumentException.class, () -> new RolloutStrategy(0, 100, 1));
+		assertThrows(IllegalArgumentException.class, () -> new RolloutStrategy(4, 0, 1));
+	}
+
+}
@@ -0,0 +1,61 @@
+package no.uib.inf102.wordle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+public class MultiWordleModelTest {
+
+    private final List<WordleAnswer> answers = List.of(new WordleAnswer("cloud"), new WordleAnswer("abide"),
+            new WordleAnswer("poker"), new WordleAnswer("rover"));
+
+    @Test
+    public void solvedBoardsGetNoMoreFeedback() {
+        MultiWordleModel model = new MultiWordleModel(answers);
+        assertEquals(9, model.maxGuesses());
+
+        List<WordleWord> feedback = model.makeGuess("poker");
+        assertEquals(4, feedback.size());
+        assertTrue(feedback.get(2).allMatch());
+        assertFalse(feedback.get(3).allMatch());
+        assertTrue(model.isSolved(2));
+        assertEquals(1, model.solvedCount());
+
+        feedback = model.makeGuess("rover");
+        assertNull(feedback.get(2));
+        assertTrue(feedback.get(3).allMatch());
+        assertEquals(GameState.ACTIVE_GAME, model.getGameState());
+
+        model.makeGuess("cloud");
+        model.makeGuess("abide");
+        assertEquals(GameState.VICTORY, model.getGameState());
+        assertEquals(4, model.guessCount());
+        assertThrows(IllegalStateException.class, () -> model.makeGuess("crane"));
+    }
+
+    @Test
+    public void gameIsLostAfterMaxGuesses() {
+        MultiWordleModel model = new MultiWordleModel(answers, 2);
+        model.makeGuess("crane");
+        model.makeGuess("cloud");
+        assertEquals(GameState.GAME_OVER, model.getGameState());
+        assertEquals(2, model.getBoard(0).getCurrentRow());
+    }
+
+    @Test
+    public void rejectsIllegalGuesses() {
+        MultiWordleModel model = new MultiWordleModel(answers);
+        assertThrows(IllegalArgumentException.class, () -> model.makeGuess("zzzzz"));
+        assertEquals(0, model.guessCount());
+    }
+
+}
@@ -0,0 +1,55 @@
+package no.uib.inf102.wordle.model.word;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class AdversarialAnswerTest {
+
+    private final List<String> words = List.of("apoop", "poppy", "upper", "rocks", "sores", "beast", "adapt");
+
+    @Test
+    public void keepsTheLargestBucket() {
+        FeedbackMatrix matrix = FeedbackMatrix.get();
+        AdversarialAnswer host = new AdversarialAnswer(matrix);
+        for (String guess : List.of("crane", "pilot", "dumpy")) {
+            Map<Integer, Integer> buckets = new HashMap<>();
+            for (int i = 0; i < host.size(); i++)
+                buckets.merge(WordleAnswer.matchCode(guess, host.candidate(i)), 1, Integer::sum);
+            int largest = buckets.values().stream().mapToInt(Integer::intValue).max().orElseThrow();
+
+            WordleWord feedback = host.makeGuess(guess);
+            assertEquals(largest, host.size());
+            for (int i = 0; i < host.size(); i++)
+                assertTrue(WordleWord.isPossibleWord(host.candidate(i), feedback), host.candidate(i));
+        }
+    }
+
+    @Test
+    public void onlyLosesWhenOneAnswerIsLeft() {
+        FeedbackMatrix matrix = new FeedbackMatrix(words, List.of("rocks", "sores"));
+        AdversarialAnswer host = new AdversarialAnswer(matrix);
+        // Both buckets have one answer, so the host does not give up the answer
+        assertFalse(host.makeGuess("rocks").allMatch());
+        assertEquals(1, host.size());
+        assertEquals("sores", host.candidate(0));
+        assertTrue(host.makeGuess("sores").allMatch());
+
+        host.reset();
+        assertEquals(2, host.size());
+    }
+
+    @Test
+    public void rejectsIllegalGuesses() {
+        AdversarialAnswer host = new AdversarialAnswer();
+        assertThrows(IllegalArgumentException.class, () -> host.makeGuess("zzzzz"));
+    }
+
+}
@@ -0,0 +1,62 @@
+package no.uib.inf102.wordle.model.word;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.resources.GetWords;
+
+public class CandidateSetTest {
+
+    private final FeedbackMatrix matrix = FeedbackMatrix.get();
+
+    @Test
+    public void eliminateAgreesWithWordList() {
+        WordleAnswer answer = new WordleAnswer("cloud");
+        CandidateSet set = new CandidateSet(matrix);
+        WordleWordList list = new WordleWordList();
+        for (String guess : new String[] { "arise", "tonic", "could" }) {
+            WordleWord feedback = answer.makeGuess(guess);
+            set.eliminateWords(feedback);
+            list.eliminateWords(feedback);
+            assertEquals(list.possibleAnswers(), set.toList());
+            assertEquals(list.size(), set.size());
+        }
+    }
+
+    @Test
+    public void resetRestoresAllAnswers() {
+        CandidateSet set = new CandidateSet(matrix);
+        set.eliminateWords(new WordleAnswer("cloud").makeGuess("arise"));
+        assertTrue(set.size() < GetWords.answerWordsList().size());
+        set.reset();
+        assertEquals(GetWords.answerWordsList(), set.toList());
+    }
+
+    @Test
+    public void toArrayAndRemove() {
+        CandidateSet set = new CandidateSet(matrix);
+        set.eliminateWords(new WordleAnswer("cloud").makeGuess("could"));
+        int[] ids = new int[matrix.answerCount()];
+        int size = set.toArray(ids);
+        assertEquals(set.size(), size);
+        for (int i = 0; i < size; i++)
+            assertTrue(set.contains(ids[i]));
+
+        set.remove(ids[0]);
+        assertFalse(set.contains(ids[0]));
+        assertEquals(size - 1, set.size());
+    }
+
+    @Test
+    public void impossibleFeedbackEmptiesSet() {
+        CandidateSet set = new CandidateSet(matrix);
+        // No answer has all five letters of "fuzzy" in the wrong position
+        set.eliminate(matrix.guessId("fuzzy"), WordleWord.fromCode("fuzzy", 121).feedbackCode());
+        assertTrue(set.isEmpty());
+        assertEquals(-1, set.next(0));
+    }
+
+}
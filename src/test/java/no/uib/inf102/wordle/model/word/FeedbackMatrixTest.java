@@ -0,0 +1,70 @@
+package no.uib.inf102.wordle.model.word;
+
+import static no.uib.inf102.wordle.model.word.AnswerType.CORRECT;
+import static no.uib.inf102.wordle.model.word.AnswerType.WRONG;
+import static no.uib.inf102.wordle.model.word.AnswerType.WRONG_POSITION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class FeedbackMatrixTest {
+
+    private final List<String> words = List.of("apoop", "poppy", "upper", "rocks", "sores", "beast", "adapt");
+    private final FeedbackMatrix matrix = new FeedbackMatrix(words, words);
+
+    @Test
+    public void matrixAgreesWithHandMadeFeedback() {
+        assertPattern("apoop", "poppy", WRONG, WRONG_POSITION, WRONG_POSITION, WRONG, WRONG_POSITION);
+        assertPattern("poppy", "upper", WRONG_POSITION, WRONG, CORRECT, WRONG, WRONG);
+        assertPattern("sores", "rocks", WRONG, CORRECT, WRONG_POSITION, WRONG, CORRECT);
+        assertPattern("adapt", "beast", WRONG, WRONG, CORRECT, WRONG, CORRECT);
+    }
+
+    @Test
+    public void sameWordIsAllCorrect() {
+        int allCorrect = WordleAnswer.allCorrectCode(5);
+        for (String word : words) {
+            assertEquals(allCorrect, matrix.pattern(matrix.guessId(word), matrix.answerId(word)));
+        }
+    }
+
+    @Test
+    public void unknownWordsHaveNoId() {
+        assertEquals(-1, matrix.guessId("zzzzz"));
+        assertEquals(-1, matrix.answerId("zzzzz"));
+    }
+
+    @Test
+    public void wordsMustHaveSameLength() {
+        assertThrows(IllegalArgumentException.class, () -> new FeedbackMatrix(List.of("arise", "ab"), List.of("arise")));
+    }
+
+    @Test
+    public void longWordsAreStoredAsShorts() {
+        List<String> sixLetters = List.of("better", "letter", "settle", "street", "tester", "retest");
+        FeedbackMatrix wide = new FeedbackMatrix(sixLetters, sixLetters);
+        assertNull(wide.patterns());
+        for (String guess : sixLetters) {
+            for (String answer : sixLetters)
+                assertEquals(WordleAnswer.matchCode(guess, answer), wide.pattern(wide.guessId(guess), wide.answerId(answer)));
+        }
+        assertEquals(WordleAnswer.allCorrectCode(6), wide.pattern(0, 0));
+        assertEquals(sixLetters.size(), new CandidateSet(wide).size());
+    }
+
+    @Test
+    public void wordsMustFitInAShort() {
+        List<String> tooLong = List.of("abcdefghijk");
+        assertThrows(IllegalArgumentException.class, () -> new FeedbackMatrix(tooLong, tooLong));
+    }
+
+    private void assertPattern(String guess, String answer, AnswerType... expected) {
+        int pattern = matrix.pattern(matrix.guessId(guess), matrix.answerId(answer));
+        assertEquals(new WordleWord(guess, expected), WordleWord.fromCode(guess, pattern));
+    }
+
+}
@@ -0,0 +1,75 @@
+package no.uib.inf102.wordle.model.word;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class GuessCacheTest {
+
+    @Test
+    public void countsHitsMissesAndEvictions() {
+        GuessCache cache = new GuessCache("test", 16);
+        for (int i = 0; i < 100; i++) {
+            String word = "w" + i;
+            assertEquals(word, cache.get(CandidateKey.EMPTY.toggle(i), () -> word));
+        }
+        assertEquals(0, cache.hits());
+        assertEquals(100, cache.misses());
+        assertTrue(cache.evictions() >= 100 - 16);
+        assertEquals(100 - cache.evictions(), cache.size());
+
+        CandidateKey key = CandidateKey.EMPTY.toggle(1000);
+        cache.get(key, () -> "first");
+        assertEquals("first", cache.get(key, () -> "second"));
+        assertEquals(1, cache.hits());
+
+        assertEquals("uncached", cache.get(null, () -> "uncached"));
+        assertEquals(101, cache.misses());
+        assertTrue(GuessCache.caches().contains(cache));
+    }
+
+    @Test
+    public void keyDoesNotDependOnOrder() {
+        CandidateKey key = CandidateKey.of(new int[] { 3, 17, 200 }, 3);
+        assertEquals(key, CandidateKey.of(new int[] { 200, 3, 17 }, 3));
+        assertEquals(key, CandidateKey.EMPTY.toggle(17).toggle(200).toggle(3));
+        assertEquals(CandidateKey.of(new int[] { 3, 200 }, 2), key.toggle(17));
+        assertNotEquals(key, CandidateKey.of(new int[] { 3, 17, 201 }, 3));
+    }
+
+    @Test
+    public void sameAnswersSameKey() {
+        WordleAnswer answer = new WordleAnswer("cloud");
+        WordleWordList first = new WordleWordList();
+        first.eliminateWords(answer.makeGuess("crane"));
+        first.eliminateWords(answer.makeGuess("sloth"));
+        WordleWordList second = new WordleWordList();
+        second.eliminateWords(answer.makeGuess("sloth"));
+        second.eliminateWords(answer.makeGuess("crane"));
+
+        assertEquals(first.possibleAnswers(), second.possibleAnswers());
+        assertEquals(first.candidateKey(), second.candidateKey());
+        assertEquals(candidateKey(first.possibleAnswers()), first.candidateKey());
+
+        first.remove(first.possibleAnswers().get(0));
+        assertEquals(candidateKey(first.possibleAnswers()), first.candidateKey());
+        first.reset();
+        assertEquals(candidateKey(first.possibleAnswers()), first.candidateKey());
+
+        assertNull(new WordleWordList(List.of("cloud", "crane")).candidateKey());
+    }
+
+    private static CandidateKey candidateKey(List<String> words) {
+        FeedbackMatrix matrix = FeedbackMatrix.get();
+        int[] ids = new int[words.size()];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = matrix.answerId(words.get(i));
+        return CandidateKey.of(ids, ids.length);
+    }
+
+}
@@ -0,0 +1,37 @@
+package no.uib.inf102.wordle.model.word;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class HardModeIndexTest {
+
+    @Test
+    public void agreesWithCheckingEveryGuess() {
+        FeedbackMatrix matrix = FeedbackMatrix.get();
+        HardModeIndex index = new HardModeIndex(matrix);
+        long[] allowed = index.newBitset();
+        Random random = new Random(102);
+        for (int game = 0; game < 20; game++) {
+            WordConstraints constraints = new WordConstraints(matrix.wordLength());
+            int answerId = random.nextInt(matrix.answerCount());
+            for (int turn = 0; turn < 3; turn++) {
+                int guessId = random.nextInt(matrix.guessCount());
+                constraints.add(matrix.guess(guessId), matrix.pattern(guessId, answerId));
+                index.allowedGuesses(constraints, allowed);
+
+                int expected = 0;
+                for (int g = 0; g < matrix.guessCount(); g++) {
+                    boolean legal = constraints.allowsHardModeGuess(matrix.guess(g));
+                    assertEquals(legal, (allowed[g >>> 6] & (1L << g)) != 0, matrix.guess(g));
+                    if (legal)
+                        expected++;
+                }
+                assertEquals(expected, HardModeIndex.count(allowed));
+            }
+        }
+    }
+
+}
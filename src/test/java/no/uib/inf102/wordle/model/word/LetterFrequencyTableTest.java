@@ -0,0 +1,58 @@
+package no.uib.inf102.wordle.model.word;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.resources.GetWords;
+
+public class LetterFrequencyTableTest {
+
+    @Test
+    public void matchesCountCommonLetters() {
+        WordleWordList list = new WordleWordList();
+        List<String> words = GetWords.answerWordsList();
+        List<HashMap<Character, Integer>> expected = list.countCommonLetters(words);
+        LetterFrequencyTable table = LetterFrequencyTable.of(words, 5);
+
+        assertEquals(words.size(), table.size());
+        for (int i = 0; i < 5; i++) {
+            for (char c = 'a'; c <= 'z'; c++)
+                assertEquals((int) expected.get(i).getOrDefault(c, 0), table.count(i, c));
+        }
+        assertEquals(0, table.count(0, 'A'));
+    }
+
+    @Test
+    public void followsEliminatedWords() {
+        WordleAnswer answer = new WordleAnswer("cloud");
+        WordleWordList list = new WordleWordList();
+        list.letterFrequencies();
+        for (String guess : new String[] { "sloth", "crane", "could" }) {
+            list.eliminateWords(answer.makeGuess(guess));
+            assertEquals(LetterFrequencyTable.of(list.possibleAnswers(), 5), list.letterFrequencies());
+        }
+        list.remove("cloud");
+        assertEquals(LetterFrequencyTable.of(list.possibleAnswers(), 5), list.letterFrequencies());
+        list.reset();
+        assertEquals(LetterFrequencyTable.of(GetWords.answerWordsList(), 5), list.letterFrequencies());
+    }
+
+    @Test
+    public void addAndRemove() {
+        LetterFrequencyTable table = new LetterFrequencyTable(5);
+        table.add("cloud");
+        table.add("crane");
+        assertEquals(2, table.count(0, 'c'));
+        assertEquals(2 + 1 + 1 + 1 + 1, table.score("cloud"));
+        table.remove("crane");
+        assertEquals(LetterFrequencyTable.of(List.of("cloud"), 5), table);
+        assertThrows(IllegalArgumentException.class, () -> table.add("clouds"));
+        assertThrows(IllegalArgumentException.class, () -> table.add("Cloud"));
+    }
+
+}
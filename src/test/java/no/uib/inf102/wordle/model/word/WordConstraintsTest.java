@@ -0,0 +1,88 @@
+package no.uib.inf102.wordle.model.word;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.resources.GetWords;
+
+public class WordConstraintsTest {
+
+    @Test
+    public void agreesWithFeedbackOfEveryGuess() {
+        List<String> allWords = GetWords.allWordsList();
+        List<String> answers = GetWords.answerWordsList();
+        Random random = new Random(102);
+        for (int game = 0; game < 30; game++) {
+            String answer = answers.get(random.nextInt(answers.size()));
+            String[] guesses = new String[3];
+            int[] codes = new int[guesses.length];
+            WordConstraints constraints = new WordConstraints(5);
+            for (int g = 0; g < guesses.length; g++) {
+                guesses[g] = allWords.get(random.nextInt(allWords.size()));
+                codes[g] = WordleAnswer.matchCode(guesses[g], answer);
+                constraints.add(guesses[g], codes[g]);
+
+                for (String word : allWords) {
+                    boolean possible = true;
+                    for (int i = 0; i <= g; i++)
+                        possible &= WordleAnswer.matchCode(guesses[i], word) == codes[i];
+                    assertEquals(possible, constraints.matches(word), word + " after " + Arrays.toString(guesses));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void hardModeKeepsHints() {
+        WordConstraints constraints = new WordConstraints(5);
+        assertTrue(constraints.allowsHardModeGuess("xylyl"));
+        // c is CORRECT, r and e are WRONG_POSITION
+        constraints.add("crane", WordleAnswer.matchCode("crane", "cover"));
+        assertTrue(constraints.allowsHardModeGuess("cover"));
+        assertTrue(constraints.allowsHardModeGuess("crepe"), "Known letters may be reused in the same place");
+        assertTrue(constraints.allowsHardModeGuess("cried"), "WRONG letters may be guessed again");
+        assertFalse(constraints.allowsHardModeGuess("river"), "CORRECT c must stay first");
+        assertFalse(constraints.allowsHardModeGuess("clove"), "r must be used");
+        assertFalse(constraints.allowsHardModeGuess("cove"));
+
+        // Two e are found, so both must be used
+        WordConstraints twice = new WordConstraints(5);
+        twice.add("geese", WordleAnswer.matchCode("geese", "there"));
+        assertTrue(twice.allowsHardModeGuess("there"));
+        assertFalse(twice.allowsHardModeGuess("thorn"));
+        assertFalse(twice.allowsHardModeGuess("taste"));
+    }
+
+    @Test
+    public void repeatedLetters() {
+        WordConstraints constraints = new WordConstraints(5);
+        // The middle and last e are CORRECT and the second e is WRONG, so there are exactly two
+        constraints.add("geese", WordleAnswer.matchCode("geese", "there"));
+        assertEquals(WordleAnswer.matchCode("geese", "there") == WordleAnswer.matchCode("geese", "three"),
+                constraints.matches("three"));
+        assertTrue(constraints.matches("there"));
+        assertFalse(constraints.matches("geese"));
+        assertEquals(constraints.minCount('e'), 2);
+        assertEquals(constraints.maxCount('e'), 2);
+        assertTrue((constraints.forbidden() & (1 << ('g' - 'a'))) != 0);
+    }
+
+    @Test
+    public void letterMaskPrefilter() {
+        WordConstraints constraints = new WordConstraints(5);
+        constraints.add("crane", WordleAnswer.matchCode("crane", "cloud"));
+        assertFalse(constraints.matchesLetters(WordConstraints.letterMask("brine")));
+        assertFalse(constraints.matchesLetters(WordConstraints.letterMask("sloth")));
+        assertTrue(constraints.matchesLetters(WordConstraints.letterMask("cloud")));
+        constraints.reset();
+        assertTrue(constraints.matches("brine"));
+    }
+
+}
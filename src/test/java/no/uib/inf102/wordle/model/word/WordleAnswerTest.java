@@ -6,19 +6,21 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
 import no.uib.inf102.wordle.resources.GetWords;
+import no.uib.inf102.wordle.resources.LegalWordIndex;
 
 public class WordleAnswerTest {
 
     private Random random = new Random();
 
-    private final Set<String> ALL_WORDS = GetWords.ALL_WORDS_SET;
-    private final Set<String> ANSWER_WORDS = GetWords.ANSWER_WORDS_SET;
+    private final Set<String> ALL_WORDS = GetWords.allWordsSet();
+    private final Set<String> ANSWER_WORDS = GetWords.answerWordsSet();
     private final String LEGAL_WORD = "arise";
 
     @Test
@@ -212,6 +214,39 @@ public class WordleAnswerTest {
         assertTrue(WordleWord.isPossibleWord("mossy", feedback));
     }
 
+    @Test
+    public void matchCodeAgreesWithMatchWord() {
+        for (int i = 0; i < 1000; i++) {
+            String guess = GetWords.allWordsList().get(random.nextInt(GetWords.allWordsList().size()));
+            String answer = GetWords.answerWordsList().get(random.nextInt(GetWords.answerWordsList().size()));
+            WordleWord feedback = WordleAnswer.matchWord(guess, answer);
+            int code = WordleAnswer.matchCode(guess, answer);
+            assertEquals(feedback.feedbackCode(), code);
+            assertEquals(feedback, WordleWord.fromCode(guess, code));
+        }
+    }
+
+    @Test
+    public void matchCodeAllCorrect() {
+        assertEquals(WordleAnswer.allCorrectCode(5), WordleAnswer.matchCode(LEGAL_WORD, LEGAL_WORD));
+        assertEquals(0, WordleAnswer.matchCode("hurry", "coast"));
+    }
+
+    @Test
+    public void matchCodeRejectsOtherLetters() {
+        // 'A' and 'a' must not be mixed up as WRONG_POSITION
+        assertThrows(IllegalArgumentException.class, () -> WordleAnswer.matchCode("Abcde", "eabcd"));
+        assertThrows(IllegalArgumentException.class, () -> WordleAnswer.matchCode("eabcd", "@bcde"));
+    }
+
+    @Test
+    public void codeRoundTrip() {
+        for (int code = 0; code < WordleAnswer.patternCount(5); code++) {
+            assertEquals(code, WordleWord.fromCode(LEGAL_WORD, code).feedbackCode());
+        }
+        assertThrows(IllegalArgumentException.class, () -> WordleWord.fromCode(LEGAL_WORD, WordleAnswer.patternCount(5)));
+    }
+
     @Test
     public void canCreateLegalWords() {
         for (String legalAnswerWord : ANSWER_WORDS) {
@@ -228,6 +263,33 @@ public class WordleAnswerTest {
         }
     }
 
+    @Test
+    public void packedFeedbackAgreesWithStringFeedback() {
+        Random seeded = new Random(102);
+        for (int length = 1; length <= LegalWordIndex.MAX_WORD_LENGTH; length++) {
+            for (int i = 0; i < 2000; i++) {
+                // Few different letters, so most words repeat letters
+                String guess = randomWord(seeded, length, 4);
+                String answer = randomWord(seeded, length, 4);
+                int expected = WordleAnswer.matchCode(guess, answer);
+                assertEquals(expected,
+                        WordleAnswer.matchCode(LegalWordIndex.pack(guess), LegalWordIndex.pack(answer), length),
+                        guess + " against " + answer);
+            }
+        }
+        for (String guess : List.of("apoop", "poppy", "sores", "adapt", "eerie"))
+            for (String answer : List.of("poppy", "upper", "rocks", "beast", "elder"))
+                assertEquals(WordleAnswer.matchCode(guess, answer),
+                        WordleAnswer.matchCode(LegalWordIndex.pack(guess), LegalWordIndex.pack(answer), 5));
+    }
+
+    private static String randomWord(Random random, int length, int letters) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++)
+            sb.append((char) ('a' + random.nextInt(letters)));
+        return sb.toString();
+    }
+
     /**
      * Creates a word with a random jumble of characters
      * 
@@ -238,7 +300,7 @@ public class WordleAnswerTest {
         int z = 122;
         while (true) {
             StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < GetWords.WORD_LENGTH; i++) {
+            for (int i = 0; i < GetWords.wordLength(); i++) {
                 char c = (char) random.nextInt(a, z);
                 sb.append(c);
             }
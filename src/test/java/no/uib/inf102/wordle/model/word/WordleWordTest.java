@@ -17,7 +17,7 @@ import no.uib.inf102.wordle.resources.GetWords;
 
 public class WordleWordTest {
 
-    private final Set<String> WORDLE_WORDS = GetWords.ALL_WORDS_SET;
+    private final Set<String> WORDLE_WORDS = GetWords.allWordsSet();
     private Random random = new Random();
 
     @Test
@@ -66,7 +66,7 @@ public class WordleWordTest {
     private String createNonsenseWord() {
         while (true) {
             StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < GetWords.WORD_LENGTH; i++) {
+            for (int i = 0; i < GetWords.wordLength(); i++) {
                 char c = (char) random.nextInt('a', 'z'+1);
                 sb.append(c);
             }
@@ -1,6 +1,9 @@
 package no.uib.inf102.wordle.model.word.wordleWordList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collections;
@@ -12,6 +15,7 @@ import no.uib.inf102.util.ReadFile;
 import no.uib.inf102.wordle.model.word.WordleAnswer;
 import no.uib.inf102.wordle.model.word.WordleWord;
 import no.uib.inf102.wordle.model.word.WordleWordList;
+import no.uib.inf102.wordle.resources.GetWords;
 
 public class WordleWordListTest {
 
@@ -39,6 +43,23 @@ public class WordleWordListTest {
         }
     }
 
+    @Test
+    public void eliminateWordsAfterRemove() {
+        // Removing words must keep the letter masks in line with the words
+        WordleWordList list = new WordleWordList();
+        for (String word : List.of("aback", "carry", "rocks")) {
+            list.remove(word);
+        }
+        WordleWord feedback = new WordleAnswer("rocky").makeGuess("crane");
+        list.eliminateWords(feedback);
+
+        for (String word : GetWords.answerWordsList()) {
+            boolean possible = !List.of("aback", "carry", "rocks").contains(word)
+                    && WordleAnswer.matchCode("crane", word) == feedback.feedbackCode();
+            assertEquals(possible, list.possibleAnswers().contains(word), word);
+        }
+    }
+
     @Test
     public void eliminateWords2() {
         WordleAnswer answer = new WordleAnswer("rocks");
@@ -103,4 +124,32 @@ public class WordleWordListTest {
         assertTrue(possibleAnswers.isEmpty());
     }
 
+    @Test
+    public void resetRestoresAnswers() {
+        WordleWordList list = new WordleWordList();
+        list.eliminateWords(new WordleAnswer("rocks").makeGuess("arise"));
+        list.remove(list.possibleAnswers().get(0));
+        list.reset();
+        assertEquals(GetWords.answerWordsList(), list.possibleAnswers());
+    }
+
+    @Test
+    public void removeDoesNotChangeSharedDictionary() {
+        WordleWordList first = new WordleWordList();
+        WordleWordList second = new WordleWordList();
+        assertSame(first.dictionary(), second.dictionary());
+
+        first.remove("cloud");
+        assertFalse(first.possibleAnswers().contains("cloud"));
+        assertTrue(second.possibleAnswers().contains("cloud"));
+        assertTrue(first.dictionary().answers().contains("cloud"));
+    }
+
+    @Test
+    public void answersMustBeWords() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WordleWordList(List.of("cloud", "crane"), List.of("rocks")));
+        assertEquals(2, new WordleWordList(List.of("cloud", "crane")).size());
+    }
+
 }
@@ -0,0 +1,63 @@
+package no.uib.inf102.wordle.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class LegalWordIndexTest {
+
+    @Test
+    public void containsEveryWord() {
+        LegalWordIndex index = new LegalWordIndex(GetWords.allWordsList());
+        assertEquals(GetWords.allWordsSet().size(), index.size());
+        for (String word : GetWords.allWordsList())
+            assertTrue(index.contains(word), word);
+    }
+
+    @Test
+    public void agreesWithWordSets() {
+        for (String word : List.of("crane", "saree", "zzzzz", "aaaaa", "xylyl", "qajaq"))
+            assertEquals(GetWords.allWordsSet().contains(word), GetWords.isLegalGuess(word), word);
+        for (String word : List.of("crane", "saree", "cloud", "rocks"))
+            assertEquals(GetWords.answerWordsSet().contains(word), GetWords.isLegalAnswer(word), word);
+    }
+
+    @Test
+    public void ignoresCase() {
+        assertTrue(GetWords.isLegalGuess("CRANE"));
+        assertTrue(GetWords.isLegalGuess("CrAnE"));
+        assertTrue(GetWords.isLegalGuess(new StringBuilder("crane")));
+    }
+
+    @Test
+    public void rejectsOtherInput() {
+        assertFalse(GetWords.isLegalGuess(null));
+        assertFalse(GetWords.isLegalGuess(""));
+        assertFalse(GetWords.isLegalGuess("cran"));
+        assertFalse(GetWords.isLegalGuess("cranes"));
+        assertFalse(GetWords.isLegalGuess("cr@ne"));
+        assertFalse(GetWords.isLegalGuess("crâne"));
+    }
+
+    @Test
+    public void longWordsFitInALong() {
+        LegalWordIndex index = new LegalWordIndex(List.of("wordlewordle", "zzzzzzzzzzzz", "aaaaaaaaaaaa"));
+        assertEquals(LegalWordIndex.MAX_WORD_LENGTH, index.wordLength());
+        assertTrue(index.contains("WordleWordle"));
+        assertTrue(index.contains("zzzzzzzzzzzz"));
+        assertFalse(index.contains("wordlewordla"));
+        assertThrows(IllegalArgumentException.class, () -> new LegalWordIndex(List.of("abcdefghijklm")));
+    }
+
+    @Test
+    public void wordsMustHaveSameLength() {
+        assertThrows(IllegalArgumentException.class, () -> new LegalWordIndex(List.of("crane", "cranes")));
+        assertThrows(IllegalArgumentException.class, () -> new LegalWordIndex(List.of("cr4ne")));
+    }
+
+}
@@ -0,0 +1,48 @@
+package no.uib.inf102.wordle.resources;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.util.ReadFile;
+
+public class PackedDictionaryTest {
+
+    private static final String FOLDER_PATH = "src/main/java/no/uib/inf102/wordle/resources/";
+
+    @Test
+    public void packedListsMatchTextFiles() {
+        List<String> answers = ReadFile.readLines(FOLDER_PATH + "answerWords.txt");
+        List<String> all = DictionaryPacker.allWords(ReadFile.readLines(FOLDER_PATH + "guessWords.txt"), answers);
+
+        PackedDictionary packed = new PackedDictionary(PackedDictionary.pack(all, answers));
+        assertEquals(all, packed.allWords());
+        assertEquals(answers, packed.answerWords());
+        assertEquals(GetWords.wordLength(), packed.wordLength());
+
+        assertEquals(all, GetWords.allWordsList());
+        assertEquals(answers, GetWords.answerWordsList());
+    }
+
+    @Test
+    public void answersMustBeGuessWords() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDictionary.pack(List.of("arise", "cloud"), List.of("zebra")));
+    }
+
+    @Test
+    public void wordsMustBeSorted() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDictionary.pack(List.of("cloud", "arise"), List.of("cloud")));
+    }
+
+    @Test
+    public void rejectsOtherFiles() {
+        assertThrows(IllegalArgumentException.class, () -> new PackedDictionary(ByteBuffer.allocate(64)));
+    }
+
+}
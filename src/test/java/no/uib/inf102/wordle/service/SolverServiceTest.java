@@ -0,0 +1,177 @@
+package no.uib.inf102.wordle.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import no.uib.inf102.wordle.controller.AI.FrequencyStrategy;
+import no.uib.inf102.wordle.controller.AI.IStrategy;
+import no.uib.inf102.wordle.controller.AI.RandomStrategy;
+import no.uib.inf102.wordle.controller.AI.StrategyType;
+import no.uib.inf102.wordle.model.word.WordleAnswer;
+import no.uib.inf102.wordle.model.word.WordleWord;
+
+public class SolverServiceTest {
+
+    private SolverService service;
+    private HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    public void setup() throws IOException {
+        service = new SolverService(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                StrategyType.FREQUENCY, 4);
+        service.start();
+    }
+
+    @AfterEach
+    public void teardown() {
+        service.stop(0);
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        URI uri = URI.create("http://localhost:" + service.port() + path);
+        return client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void validate() throws Exception {
+        assertEquals("{\"word\":\"crane\",\"legal\":true}", get("/validate?word=CRANE").body());
+        assertEquals("{\"word\":\"zzzzz\",\"legal\":false}", get("/validate?word=zzzzz").body());
+        assertEquals(400, get("/validate").statusCode());
+    }
+
+    @Test
+    public void guessMatchesStrategy() throws Exception {
+        IStrategy strategy = new FrequencyStrategy();
+        WordleAnswer answer = new WordleAnswer("cloud");
+        List<String> history = new ArrayList<>();
+        String guess = strategy.makeGuess(null);
+        while (true) {
+            HttpResponse<String> response = get("/guess?history=" + String.join(",", history));
+            assertEquals(200, response.statusCode());
+            assertEquals("{\"guess\":\"" + guess + "\"}", response.body());
+            assertEquals(response.body(), get("/guess?session=s1&history=" + String.join(",", history)).body());
+
+            WordleWord feedback = answer.makeGuess(guess);
+            if (feedback.allMatch())
+                break;
+            history.add(guess + ":" + feedbackString(feedback));
+            guess = strategy.makeGuess(feedback);
+        }
+        assertEquals(1, service.sessions().size());
+    }
+
+    @Test
+    public void rejectsBadHistory() throws Exception {
+        assertEquals(400, get("/guess?history=crane").statusCode());
+        assertEquals(400, get("/guess?history=zzzzz:wwwww").statusCode());
+        assertEquals(400, get("/guess?history=crane:wwxww").statusCode());
+    }
+
+    @Test
+    public void sessionsAreEvicted() throws Exception {
+        for (int i = 0; i < 10; i++)
+            assertEquals(200, get("/guess?session=" + i + "&history=crane:wwwww").statusCode());
+        assertEquals(4, service.sessions().size());
+        assertTrue(service.pool().created() <= 5);
+    }
+
+    @Test
+    public void concurrentSessions() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            URI uri = URI.create("http://localhost:" + service.port() + "/guess?session=c" + (i % 8)
+                    + "&history=crane:wwwww,sloth:wcwww");
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        String first = responses.get(0).get().body();
+        for (CompletableFuture<HttpResponse<String>> response : responses)
+            assertEquals(first, response.get().body());
+    }
+
+    @Test
+    public void unexpectedErrorsGiveAResponse() throws Exception {
+        SolverService failing = new SolverService(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                () -> new RandomStrategy() {
+                    @Override
+                    public String makeGuess(WordleWord feedback) {
+                        throw new UnsupportedOperationException("broken");
+                    }
+                }, 4);
+        failing.start();
+        try {
+            URI uri = URI.create("http://localhost:" + failing.port() + "/guess");
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(500, response.statusCode());
+            assertTrue(response.body().contains("Internal error"), response.body());
+            assertFalse(response.body().contains("broken"), response.body());
+        } finally {
+            failing.stop(0);
+        }
+    }
+
+    @Test
+    public void newSessionDoesNotBlockOtherSessions() throws Exception {
+        CountDownLatch slowCreation = new CountDownLatch(1);
+        boolean[] first = { true };
+        StrategyPool pool = new StrategyPool(() -> {
+            synchronized (first) {
+                if (first[0]) {
+                    first[0] = false;
+                    return new FrequencyStrategy();
+                }
+            }
+            try {
+                slowCreation.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new FrequencyStrategy();
+        }, 0);
+        SessionCache cache = new SessionCache(pool, 4);
+        String guess = cache.nextGuess("fast", List.of());
+
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> cache.nextGuess("slow", List.of()));
+        // The slow session is being created, but the fast one still answers
+        CompletableFuture<String> fast = CompletableFuture.supplyAsync(() -> cache.nextGuess("fast", List.of()));
+        assertEquals(guess, fast.get(10, TimeUnit.SECONDS));
+        slowCreation.countDown();
+        assertEquals(guess, slow.get(10, TimeUnit.SECONDS));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void parseHistory() {
+        List<WordleWord> history = SolverService.parseHistory("Crane:WPCWW");
+        assertEquals(WordleWord.fromCode("crane", 1 * 3 + 2 * 9), history.get(0));
+        assertTrue(SolverService.parseHistory(" ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> SolverService.parseHistory("crane:wpc"));
+    }
+
+    private static String feedbackString(WordleWord feedback) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < feedback.getWordString().length(); i++)
+            builder.append(feedback.getFeedbackAtIndex(i).character);
+        return builder.toString();
+    }
+
+}